@@ -0,0 +1,394 @@
+package hypervolume;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+/**
+ * ArrayDominanceDecisionTreeManager class implements the same Dominance decision
+ * tree as DominanceDecisionTreeManager, but holds the tree in flat primitive arrays
+ * rather than as linked DDTNode objects. Node n occupies slot n of each array: its
+ * objective values are at [n*M, n*M+M) of a single contiguous array (M being the
+ * number of objectives), as are the slots of its children (-1 where there is none).
+ * Slots of deleted nodes are recycled via a free list. As in the linked tree, each
+ * node also tracks the minimum on each objective over its subtree, held in another
+ * contiguous array, so queries skip subtrees which cannot contain a dominating member.
+ *
+ * No traversal recurses, so deep trees cannot overflow the stack. Updates use
+ * explicit stacks held by the manager. Queries (weaklyDominates) walk the tree via
+ * the parent links instead, so are allocation-free and, as they do not touch any
+ * shared scratch state, may be run concurrently with each other.
+ *
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class ArrayDominanceDecisionTreeManager implements ParetoSetManager
+{
+    public final int NUMBER_OF_OBJECTIVES; // number of objectives of solutions being managed
+    private static final int NONE = -1;
+    private double[] objectives; // objective values of each node
+    private double[] minima; // minimum objective values over the subtree of each node
+    private int[] children; // child slots of each node
+    private int[] parents; // parent slot of each node, or next free slot for a freed slot
+    private int[] indicesAtParent; // child index of each node at its parent
+    private Solution[] cargo;
+    private int root = NONE;
+    private int size = 0;
+    private int slotsUsed = 0; // slots at and after this have never been used
+    private int freeSlot = NONE; // head of free list
+    private int[] stack = new int[16]; // explicit stack of nodes for updates
+    private int[] stackIndex = new int[16]; // next child to process of each node on stack
+    private int[] order = new int[16]; // nodes of a subtree in post-order, for reinsertion
+
+    ArrayDominanceDecisionTreeManager(int numberOfObjectives) {
+        NUMBER_OF_OBJECTIVES = numberOfObjectives;
+        allocate(16);
+    }
+
+    @Override
+    public boolean add(Solution s) throws IllegalNumberOfObjectivesException
+    {
+        if (s.getNumberOfObjectives()!=NUMBER_OF_OBJECTIVES)
+            throw new IllegalNumberOfObjectivesException("Manager set up for " + NUMBER_OF_OBJECTIVES
+                + " objectives, however solution added has "+ s.getNumberOfObjectives());
+
+        if (root==NONE) {
+            root = newNode(s);
+            size = 1;
+        } else {
+            double[] values = Solution.fitnessOf(s);
+            if (detectDomination(values))
+                return false;
+            // not dominated, so need to remove any and all current members than are dominated
+            deleteDominated(values);
+            int node = newNode(s);
+            if (root!=NONE)
+                insert(root,node);
+            else // special case when entire tree has been removed
+                root = node;
+            size++;
+        }
+        return true;
+    }
+
+    @Override
+    public Solution getRandomMember() throws UnsupportedOperationException
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns true if a node weakly dominates s. Traverses the tree depth first,
+     * descending into child i of a node only if the node is no worse than s on
+     * objective i, and backtracking via the parent links
+     */
+    private boolean detectDomination(double[] s) {
+        int node = root;
+        int next = 0; // next child of node to consider, 0 on first arrival at node
+        while (true) {
+            int offset = node*NUMBER_OF_OBJECTIVES;
+            int i = next;
+            if (next==0) { // first arrival
+                if (!weaklyDominates(minima,offset,s))
+                    i = NUMBER_OF_OBJECTIVES; // no member of subtree can weakly dominate s
+                else if (weaklyDominates(objectives,offset,s))
+                    return true;
+            }
+            for (; i<NUMBER_OF_OBJECTIVES; i++)
+                if (children[offset+i] != NONE && objectives[offset+i]<=s[i])
+                    break;
+            if (i<NUMBER_OF_OBJECTIVES) { // descend
+                node = children[offset+i];
+                next = 0;
+            } else { // backtrack
+                if (node==root)
+                    return false;
+                next = indicesAtParent[node]+1;
+                node = parents[node];
+            }
+        }
+    }
+
+    /**
+     * Returns true if the vector at offset of values weakly dominates s
+     */
+    private boolean weaklyDominates(double[] values, int offset, double[] s) {
+        for (int i=0; i<NUMBER_OF_OBJECTIVES; i++)
+            if (values[offset+i] > s[i])
+                return false;
+        return true;
+    }
+
+    private boolean weaklyDominatesNode(double[] s, int node) {
+        int offset = node*NUMBER_OF_OBJECTIVES;
+        for (int i=0; i<NUMBER_OF_OBJECTIVES; i++)
+            if (s[i] > objectives[offset+i])
+                return false;
+        return true;
+    }
+
+    /**
+     * Removes all nodes weakly dominated by s, visiting the tree in post-order (so
+     * a node is only considered once its children have been)
+     */
+    private void deleteDominated(double[] s) {
+        int depth = push(0,root);
+        while (depth>0) {
+            int node = stack[depth-1];
+            int offset = node*NUMBER_OF_OBJECTIVES;
+            int i = stackIndex[depth-1];
+            for (; i<NUMBER_OF_OBJECTIVES; i++) {
+                boolean last = s[i]>objectives[offset+i]; // later children cannot be dominated
+                if (children[offset+i] != NONE) {
+                    stackIndex[depth-1] = last ? NUMBER_OF_OBJECTIVES : i+1;
+                    depth = push(depth,children[offset+i]);
+                    break;
+                }
+                if (last)
+                    i = NUMBER_OF_OBJECTIVES;
+            }
+            if (i<NUMBER_OF_OBJECTIVES)
+                continue; // child pushed
+            // all children of node have been processed by this point, and any dominated removed
+            depth--;
+            if (weaklyDominatesNode(s,node))
+                delete(node,depth);
+            else
+                recomputeMinimum(node); // members of subtree may have been removed
+        }
+    }
+
+    /**
+     * Removes node from the tree, replacing it with its first child, and reinserting
+     * the subtrees of its other children. Stack entries below depth are left intact
+     */
+    private void delete(int node, int depth) {
+        int offset = node*NUMBER_OF_OBJECTIVES;
+        int parent = parents[node];
+        int j=0;
+        // find first valid offspring of node
+        for (; j<NUMBER_OF_OBJECTIVES; j++)
+            if (children[offset+j] != NONE)
+                break;
+        size--;
+        if (j==NUMBER_OF_OBJECTIVES) { // leaf
+            if (parent==NONE)
+                root = NONE;
+            else
+                children[parent*NUMBER_OF_OBJECTIVES+indicesAtParent[node]] = NONE;
+            freeNode(node);
+            return;
+        }
+        if (parent==NONE) { // special case when deleted node is top of tree
+            root = children[offset+j];
+            parents[root] = NONE;
+            indicesAtParent[root] = NONE;
+            parent = root;
+        } else {
+            setChild(parent,indicesAtParent[node],children[offset+j]);
+        }
+        for (j++; j<NUMBER_OF_OBJECTIVES; j++)
+            if (children[offset+j] != NONE)
+                treeInsert(parent,children[offset+j],depth); // reinsert subtree
+        freeNode(node);
+    }
+
+    /**
+     * Reinserts each node of the subtree rooted at node individually below baseParent,
+     * children before their parents. Stack entries below base are left intact
+     */
+    private void treeInsert(int baseParent, int node, int base) {
+        int count = 0;
+        int depth = push(base,node);
+        while (depth>base) { // gather subtree in post-order
+            int top = stack[depth-1];
+            int offset = top*NUMBER_OF_OBJECTIVES;
+            int i = stackIndex[depth-1];
+            while (i<NUMBER_OF_OBJECTIVES && children[offset+i] == NONE)
+                i++;
+            if (i<NUMBER_OF_OBJECTIVES) {
+                stackIndex[depth-1] = i+1;
+                depth = push(depth,children[offset+i]);
+            } else {
+                depth--;
+                if (count==order.length)
+                    order = Arrays.copyOf(order, 2*count);
+                order[count++] = top;
+            }
+        }
+        for (int k=0; k<count; k++) { // strip each node and insert
+            Arrays.fill(children, order[k]*NUMBER_OF_OBJECTIVES, (order[k]+1)*NUMBER_OF_OBJECTIVES, NONE);
+            insert(baseParent,order[k]);
+        }
+    }
+
+    private void insert(int baseParent, int node) {
+        int offset = node*NUMBER_OF_OBJECTIVES;
+        System.arraycopy(objectives, offset, minima, offset, NUMBER_OF_OBJECTIVES); // inserted nodes are always childless
+        while (true) {
+            int parentOffset = baseParent*NUMBER_OF_OBJECTIVES;
+            for (int i=0; i<NUMBER_OF_OBJECTIVES; i++)
+                minima[parentOffset+i] = Math.min(minima[parentOffset+i], objectives[offset+i]);
+            int i=0;
+            for (; i<NUMBER_OF_OBJECTIVES; i++ )
+                if (objectives[offset+i] > objectives[parentOffset+i])
+                    break;
+            if (children[parentOffset+i] != NONE) {
+                baseParent = children[parentOffset+i];
+            } else {
+                setChild(baseParent,i,node);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Recomputes the subtree minimum of node from its objectives and the subtree 
+     * minima of its children
+     */
+    private void recomputeMinimum(int node) {
+        int offset = node*NUMBER_OF_OBJECTIVES;
+        System.arraycopy(objectives, offset, minima, offset, NUMBER_OF_OBJECTIVES);
+        for (int j=0; j<NUMBER_OF_OBJECTIVES; j++) {
+            int child = children[offset+j];
+            if (child != NONE)
+                for (int i=0; i<NUMBER_OF_OBJECTIVES; i++)
+                    minima[offset+i] = Math.min(minima[offset+i], minima[child*NUMBER_OF_OBJECTIVES+i]);
+        }
+    }
+
+    private void setChild(int parent, int index, int node) {
+        children[parent*NUMBER_OF_OBJECTIVES+index] = node;
+        parents[node] = parent;
+        indicesAtParent[node] = index;
+    }
+
+    /**
+     * Pushes node onto the update stack, at depth, returning the new depth
+     */
+    private int push(int depth, int node) {
+        if (depth==stack.length) {
+            stack = Arrays.copyOf(stack, 2*depth);
+            stackIndex = Arrays.copyOf(stackIndex, 2*depth);
+        }
+        stack[depth] = node;
+        stackIndex[depth] = 0;
+        return depth+1;
+    }
+
+    /**
+     * Takes a free slot for a new childless node holding s
+     */
+    private int newNode(Solution s) {
+        int node;
+        if (freeSlot != NONE) {
+            node = freeSlot;
+            freeSlot = parents[node];
+        } else {
+            if (slotsUsed==cargo.length)
+                allocate(2*slotsUsed);
+            node = slotsUsed++;
+        }
+        int offset = node*NUMBER_OF_OBJECTIVES;
+        for (int i=0; i<NUMBER_OF_OBJECTIVES; i++) {
+            objectives[offset+i] = s.getFitness(i);
+            minima[offset+i] = objectives[offset+i];
+            children[offset+i] = NONE;
+        }
+        parents[node] = NONE;
+        indicesAtParent[node] = NONE;
+        cargo[node] = s;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        cargo[node] = null;
+        parents[node] = freeSlot;
+        freeSlot = node;
+    }
+
+    private void allocate(int slots) {
+        if (cargo==null) {
+            objectives = new double[slots*NUMBER_OF_OBJECTIVES];
+            minima = new double[slots*NUMBER_OF_OBJECTIVES];
+            children = new int[slots*NUMBER_OF_OBJECTIVES];
+            parents = new int[slots];
+            indicesAtParent = new int[slots];
+            cargo = new Solution[slots];
+        } else {
+            objectives = Arrays.copyOf(objectives, slots*NUMBER_OF_OBJECTIVES);
+            minima = Arrays.copyOf(minima, slots*NUMBER_OF_OBJECTIVES);
+            children = Arrays.copyOf(children, slots*NUMBER_OF_OBJECTIVES);
+            parents = Arrays.copyOf(parents, slots);
+            indicesAtParent = Arrays.copyOf(indicesAtParent, slots);
+            cargo = Arrays.copyOf(cargo, slots);
+        }
+    }
+
+    @Override
+    public boolean weaklyDominates(Solution s) throws IllegalNumberOfObjectivesException
+    {
+        if (s.getNumberOfObjectives()!=NUMBER_OF_OBJECTIVES)
+            throw new IllegalNumberOfObjectivesException("Manager set up for " + NUMBER_OF_OBJECTIVES
+                + " objectives, however solution added has "+ s.getNumberOfObjectives());
+
+        if (root==NONE)
+            return false;
+        else {
+            return detectDomination(Solution.fitnessOf(s));
+        }
+    }
+
+    @Override
+    public Collection<? extends Solution> getContents() {
+        ArrayList<Solution> contents = new ArrayList<>(size);
+        if (root==NONE)
+            return contents;
+        int node = root; // pre-order traversal via the parent links
+        int next = 0;
+        while (true) {
+            int offset = node*NUMBER_OF_OBJECTIVES;
+            if (next==0)
+                contents.add(cargo[node]);
+            int i = next;
+            while (i<NUMBER_OF_OBJECTIVES && children[offset+i] == NONE)
+                i++;
+            if (i<NUMBER_OF_OBJECTIVES) {
+                node = children[offset+i];
+                next = 0;
+            } else {
+                if (node==root)
+                    return contents;
+                next = indicesAtParent[node]+1;
+                node = parents[node];
+            }
+        }
+    }
+
+    public static ArrayDominanceDecisionTreeManager managerFactory(int numberOfObjectives) {
+        return new ArrayDominanceDecisionTreeManager(numberOfObjectives);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clean() {
+        Arrays.fill(cargo, 0, slotsUsed, null);
+        root = NONE;
+        size = 0;
+        slotsUsed = 0;
+        freeSlot = NONE;
+    }
+
+    @Override
+    public String toString() {
+        String s="Root :";
+        if (root==NONE)
+            return s + "empty";
+        for (Solution member : getContents())
+            s += " " + member;
+        return s;
+    }
+}
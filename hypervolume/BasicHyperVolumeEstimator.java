@@ -1,6 +1,9 @@
 package hypervolume;
 
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.io.File;
 import java.io.PrintWriter;
 import java.io.FileNotFoundException;
@@ -24,6 +27,16 @@ public class BasicHypervolumeEstimator implements HypervolumeEstimator
     ArrayList<Long> hypervolumeTimingHistoryInNanoseconds  = new ArrayList<>();
     long startTime;
     boolean lastUpdateNondominated = false;
+    MonteCarloSolution sample; // reusable scratch vector that MC samples are drawn into
+    SamplingMode samplingMode; // how sample points are generated
+    SampleSequence sequence; // sequence of sample points owned by this estimator
+    ForkJoinPool forkJoinPool; // pool used for parallel sampling, sequential if null
+    int numberOfWorkers = 1; // number of independent sample streams in parallel mode
+    PrecisionTarget precisionTarget; // interval at which sampling stops early, null if none
+    int numberOfSamplesUsed = 0; // number of samples drawn for current estimate
+    RandomSource improvementSource = RandomSource.sourceFactory(~0L); // generator for improvement queries, apart from estimates
+    static final int MIN_IMPROVEMENT_SAMPLES = 1000; // fewest samples drawn for an improvement query
+    long evictionsSeen = 0L; // evictions from the Pareto set estimate any retained history accounts for
 
     /**
      * Generates an instance of BasicHyperVolumeEstimator to track the
@@ -42,6 +55,30 @@ public class BasicHypervolumeEstimator implements HypervolumeEstimator
      */
     public BasicHypervolumeEstimator(int numberOfObjectives, double[] lowerBounds, double[] upperBounds)
     throws IllegalNumberOfObjectivesException
+    {
+        this(numberOfObjectives,lowerBounds,upperBounds,SamplingMode.PSEUDO_RANDOM);
+    }
+    
+    /**
+     * Generates an instance of BasicHyperVolumeEstimator to track the
+     * hypervolume for a numberOfObjectives dimensional problem, with the
+     * hypervolume estimated by samples from the box constrained hyperrectangle 
+     * defined in objective space by lowerBounds and upperBounds, generated 
+     * as determined by samplingMode
+     * 
+     * Instance initially has instrumentation switched off.
+     * 
+     *  @param numberOfObjectives number of objectives
+     *  @param lowerBounds array of values of lower bound for objectives for MC sampling
+     *  @param upperBounds array of values of upper bound for objectives for MC sampling
+     *  @param samplingMode how sample points are generated
+     *  @throws IllegalNumberOfObjectivesException if the length of a bounds array does 
+     *          not match the number of objectives, if the number of objectives is 
+     *          less than 1, or if the sampling mode does not support the number of 
+     *          objectives (see message in exception)
+     */
+    public BasicHypervolumeEstimator(int numberOfObjectives, double[] lowerBounds, double[] upperBounds, SamplingMode samplingMode)
+    throws IllegalNumberOfObjectivesException
     {
         if (numberOfObjectives < 1)
             throw new IllegalNumberOfObjectivesException("Number of objectives must be at least 1");
@@ -52,6 +89,9 @@ public class BasicHypervolumeEstimator implements HypervolumeEstimator
         list = DominanceDecisionTreeManager.managerFactory(numberOfObjectives);
         this.lowerBounds = lowerBounds;
         this.upperBounds = upperBounds;
+        sample = new MonteCarloSolution(numberOfObjectives);
+        this.samplingMode = samplingMode;
+        sequence = SampleSequence.sequenceFactory(samplingMode, numberOfObjectives, RandomSource.sourceFactory(0L));
     }
 
     @Override
@@ -68,25 +108,199 @@ public class BasicHypervolumeEstimator implements HypervolumeEstimator
         throw new UnsupportedOperationException("BasicHyperVolumeEstimators are defined in terms of samples per iteration, not time");
     }
 
+    /**
+     * With a precision target, samples are drawn until the interval is narrow enough, 
+     * up to the number of samples per iteration (in parallel mode in rounds across the
+     * workers, sized from the samples the target is still estimated to need)
+     */
+    @Override
+    public void setTargetPrecision(double halfWidth, double confidenceLevel)
+    throws IllegalArgumentException
+    {
+        precisionTarget = (halfWidth == 0.0) ? null : new PrecisionTarget(halfWidth, confidenceLevel);
+    }
+
+    @Override
+    public void setRandomSeed(long seed)
+    {
+        setRandomSource(RandomSource.sourceFactory(seed));
+        improvementSource = RandomSource.sourceFactory(~seed);
+    }
+    
+    /**
+     * Sets the generator used to draw this estimator's Monte Carlo samples (or, for
+     * low-discrepancy sampling modes, to scramble the sequence), restarting the 
+     * sequence of sample points
+     * 
+     * @param rng generator to draw samples from
+     */
+    public void setRandomSource(RandomSource rng)
+    {
+        try {
+            sequence = SampleSequence.sequenceFactory(samplingMode, lowerBounds.length, rng);
+        } catch (IllegalNumberOfObjectivesException e) {
+            throw new IllegalStateException(e); // cannot happen, dimension checked on construction
+        }
+    }
+
+    /**
+     * Switches the estimator to parallel sampling, with the sample budget split across
+     * numberOfWorkers tasks run on forkJoinPool. Each worker draws from its own stream,
+     * split from this estimator's sequence (for low-discrepancy modes, its own block 
+     * of the sequence), and keeps its own count of dominated 
+     * samples, which are summed once all workers complete. For a fixed seed and number 
+     * of workers estimates are reproducible, whatever the size of the pool. Estimators 
+     * which retain non-dominated samples also use the pool to rescan them in parallel.
+     * Passing a null pool, or fewer than two workers, returns the estimator to sequential
+     * sampling.
+     * 
+     * @param forkJoinPool pool to run sampling tasks on
+     * @param numberOfWorkers number of sample streams the budget is split across
+     */
+    public void setParallelism(ForkJoinPool forkJoinPool, int numberOfWorkers)
+    {
+        this.forkJoinPool = forkJoinPool;
+        this.numberOfWorkers = Math.max(1,numberOfWorkers);
+    }
+
+    /**
+     * Sets the implementation used to hold the Pareto set estimate (by default a Dominance
+     * Decision Tree). The current members are carried over to a new manager from factory.
+     * 
+     * @param factory provider of the new manager
+     * @throws IllegalNumberOfObjectivesException if the manager provided does not support 
+     *         the number of objectives of this estimator
+     */
+    public void setParetoSetManagerFactory(ParetoSetManagerFactory factory)
+    throws IllegalNumberOfObjectivesException
+    {
+        ParetoSetManager replacement = factory.newManager(lowerBounds.length);
+        replacement.replace(list);
+        list = replacement;
+        evictionsSeen = 0L; // a bounded replacement may have evicted members when filled
+        checkForEvictions();
+    }
+
     @Override
     public boolean updateWithNewSolution(Solution s)
     throws IllegalNumberOfObjectivesException
     {
         lastUpdateNondominated = list.add(s);
+        checkForEvictions();
         return lastUpdateNondominated;
     }
+    
+    /**
+     * Discards any retained history if members have been evicted from the Pareto set 
+     * estimate (see BoundedParetoSetManager) since last checked
+     */
+    void checkForEvictions()
+    {
+        if (list.getNumberOfEvictions() != evictionsSeen) {
+            evictionsSeen = list.getNumberOfEvictions();
+            discardHistory();
+        }
+    }
+    
+    /**
+     * Discards all history retained between estimates, which assumes the dominated region
+     * only grows, after members have been evicted. Nothing is retained here, as every 
+     * estimate is made from fresh samples
+     */
+    void discardHistory()
+    {
+    }
 
     @Override
     public double getNewHypervolumeEstimate()
     throws IllegalNumberOfObjectivesException
     {
         int h = 0;
-        for (int i=0; i<numberOfSamples; i++)
-            if (list.weaklyDominates(new MonteCarloSolution(lowerBounds, upperBounds)))
-                h++;
-        hypervolume = h/(double) numberOfSamples;
+        int n = 0;
+        if (precisionTarget == null) {
+            h = isParallel() ? countDominatedInParallel(numberOfSamples) : countDominated(numberOfSamples);
+            n = numberOfSamples;
+        } else {
+            while (n < numberOfSamples && !precisionTarget.isMet(h,n)) {
+                int batch = PrecisionTarget.CHECK_INTERVAL;
+                if (isParallel()) // round sized to what is still needed, growing at most twofold
+                    batch = (int) Math.max(batch*numberOfWorkers, Math.min(precisionTarget.samplesStillNeeded(h,n), n));
+                batch = Math.min(batch, numberOfSamples-n);
+                h += isParallel() ? countDominatedInParallel(batch) : countDominated(batch);
+                n += batch;
+            }
+        }
+        numberOfSamplesUsed = n;
+        hypervolume = h/(double) n;
         return hypervolume;
     }
+    
+    /**
+     * Draws toGenerate samples in turn, returning the number of them weakly dominated
+     * by the Pareto set estimate
+     */
+    int countDominated(int toGenerate)
+    throws IllegalNumberOfObjectivesException
+    {
+        int h = 0;
+        for (int i=0; i<toGenerate; i++) {
+            sample.resample(lowerBounds, upperBounds, sequence);
+            if (list.weaklyDominates(sample))
+                h++;
+        }
+        return h;
+    }
+    
+    /**
+     * Returns true if a precision target is set and the interval on dominated samples
+     * out of those drawn is narrow enough
+     */
+    boolean isPrecise(long dominated, long samples)
+    {
+        return precisionTarget != null && precisionTarget.isMet(dominated,samples);
+    }
+
+    /**
+     * The improvement is estimated by fresh samples drawn from the part of the box the
+     * candidate weakly dominates (as many as per iteration, and at least 1000), as the
+     * fraction of them not weakly dominated by the Pareto set estimate, scaled by the 
+     * volume of that part. The samples are drawn from a generator of their own, so do 
+     * not change the estimates which follow
+     */
+    @Override
+    public double estimateImprovement(Solution candidate)
+    throws IllegalNumberOfObjectivesException
+    {
+        if (list.weaklyDominates(candidate))
+            return 0.0;
+        double[] dominatedLowerBounds = new double[lowerBounds.length];
+        double volume = 1.0; // fraction of box candidate weakly dominates
+        for (int i=0; i<lowerBounds.length; i++) {
+            dominatedLowerBounds[i] = Math.max(candidate.getFitness(i), lowerBounds[i]);
+            if (dominatedLowerBounds[i] >= upperBounds[i])
+                return 0.0; // dominates none of the box
+            volume *= (upperBounds[i]-dominatedLowerBounds[i])/(upperBounds[i]-lowerBounds[i]);
+        }
+        int toGenerate = Math.max(numberOfSamples, MIN_IMPROVEMENT_SAMPLES);
+        MonteCarloSolution point = new MonteCarloSolution(lowerBounds.length);
+        int free = 0;
+        for (int i=0; i<toGenerate; i++) {
+            point.resample(dominatedLowerBounds, upperBounds, improvementSource);
+            if (!list.weaklyDominates(point))
+                free++;
+        }
+        return volume*free/toGenerate;
+    }
+
+    /**
+     * Samples are drawn from the generator used for improvement queries (see
+     * ExclusiveContributions)
+     */
+    @Override
+    public Map<Solution,Double> estimateContributions(int numberOfSamples)
+    {
+        return ExclusiveContributions.estimate(list, lowerBounds, upperBounds, numberOfSamples, improvementSource);
+    }
 
     @Override
     public double instrumentedGetNewHypervolumeEstimate()
@@ -157,7 +371,7 @@ public class BasicHypervolumeEstimator implements HypervolumeEstimator
     @Override
     public int getNumberOfSamplesUsedForCurrentEstimate()
     {
-        return numberOfSamples;
+        return numberOfSamplesUsed;
     }
 
     @Override
@@ -166,6 +380,32 @@ public class BasicHypervolumeEstimator implements HypervolumeEstimator
         return lastUpdateNondominated;
     }
 
+    /**
+     * Returns true if estimator has been set up to sample in parallel
+     */
+    boolean isParallel()
+    {
+        return forkJoinPool != null && numberOfWorkers > 1;
+    }
+    
+    /**
+     * Draws toGenerate samples split across the workers, returning the number of them 
+     * weakly dominated by the Pareto set estimate
+     */
+    int countDominatedInParallel(int toGenerate)
+    throws IllegalNumberOfObjectivesException
+    {
+        SampleSequence[] streams = new SampleSequence[numberOfWorkers];
+        for (int w=0; w<numberOfWorkers; w++) // split in worker order, so streams are fixed by the seed
+            streams[w] = sequence.split(toGenerate/numberOfWorkers + (w < toGenerate%numberOfWorkers ? 1 : 0));
+        try {
+            return forkJoinPool.invoke(new SamplingTask(streams,toGenerate,0,numberOfWorkers));
+        } catch (RuntimeException e) {
+            IllegalNumberOfObjectivesException.rethrowIfCause(e);
+            throw e;
+        }
+    }
+    
     /**
      * Keeps track of current time
      */
@@ -182,4 +422,54 @@ public class BasicHypervolumeEstimator implements HypervolumeEstimator
     {
         hypervolumeTimingHistoryInNanoseconds.add(HypervolumeEstimator.getCPUTime()-startTime);
     }
+    
+    /**
+     * Task sampling on behalf of a contiguous range of workers, forking until each
+     * task handles a single worker's share of the sample budget
+     */
+    private class SamplingTask extends RecursiveTask<Integer>
+    {
+        private static final long serialVersionUID = 1L;
+        private final SampleSequence[] streams;
+        private final int toGenerate;
+        private final int fromWorker;
+        private final int toWorker;
+        
+        SamplingTask(SampleSequence[] streams, int toGenerate, int fromWorker, int toWorker)
+        {
+            this.streams = streams;
+            this.toGenerate = toGenerate;
+            this.fromWorker = fromWorker;
+            this.toWorker = toWorker;
+        }
+        
+        @Override
+        protected Integer compute()
+        {
+            if (toWorker - fromWorker == 1)
+                return sampleAsWorker(fromWorker);
+            int middle = (fromWorker + toWorker) >>> 1;
+            SamplingTask left = new SamplingTask(streams,toGenerate,fromWorker,middle);
+            left.fork();
+            int h = new SamplingTask(streams,toGenerate,middle,toWorker).compute();
+            return h + left.join();
+        }
+        
+        private int sampleAsWorker(int worker)
+        {
+            int share = toGenerate/streams.length + (worker < toGenerate%streams.length ? 1 : 0);
+            MonteCarloSolution workerSample = new MonteCarloSolution(lowerBounds.length);
+            int h = 0;
+            try {
+                for (int i=0; i<share; i++) {
+                    workerSample.resample(lowerBounds, upperBounds, streams[worker]);
+                    if (list.weaklyDominates(workerSample))
+                        h++;
+                }
+            } catch (IllegalNumberOfObjectivesException e) {
+                throw new IllegalStateException(e);
+            }
+            return h;
+        }
+    }
 }
@@ -4,7 +4,7 @@ import static org.junit.Assert.*;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
-
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The test class BasicHypervolumeEstimatorTest.
@@ -76,6 +76,127 @@ public class BasicHypervolumeEstimatorTest
     
     }
     
+    @Test(timeout=200000)
+    public void parallelGetNewHypervolumeEstimateTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        // same seed and number of workers must give the same estimate, whatever the pool size
+        double[] estimates = new double[2];
+        int[] poolSizes = {1, 4};
+        for (int i=0; i<2; i++) {
+            BasicHypervolumeEstimator e = new BasicHypervolumeEstimator(2, new double[]{0.0, 0.0}, new double[]{2.0, 2.0});
+            e.updateWithNewSolution(new MonteCarloSolution(new double[]{1.0, 1.0}, new double[]{1.0, 1.0}));
+            e.setNumberOfSamplesToComparePerIteration(10001);
+            e.setRandomSeed(3L);
+            e.setParallelism(new ForkJoinPool(poolSizes[i]), 7);
+            estimates[i] = e.getNewHypervolumeEstimate();
+        }
+        assertEquals(estimates[0],estimates[1],0.0);
+        assertEquals(estimates[0],0.25,0.02);
+    }
+    
+    @Test(timeout=200000)
+    public void parallelLowDiscrepancyEstimateTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        // workers take consecutive blocks of the sequence, so must match sequential sampling
+        for (SamplingMode mode : new SamplingMode[]{SamplingMode.SOBOL, SamplingMode.HALTON}) {
+            double[] estimates = new double[2];
+            for (int i=0; i<2; i++) {
+                BasicHypervolumeEstimator e = new BasicHypervolumeEstimator(2, new double[]{0.0, 0.0}, new double[]{2.0, 2.0}, mode);
+                e.updateWithNewSolution(new MonteCarloSolution(new double[]{0.5, 1.5}, new double[]{0.5, 1.5}));
+                e.updateWithNewSolution(new MonteCarloSolution(new double[]{1.5, 0.5}, new double[]{1.5, 0.5}));
+                e.setNumberOfSamplesToComparePerIteration(4099);
+                if (i==1)
+                    e.setParallelism(new ForkJoinPool(3), 5);
+                estimates[i] = e.getNewHypervolumeEstimate();
+            }
+            assertEquals(estimates[0],estimates[1],0.0);
+            assertEquals(estimates[0],0.3125,0.005);
+        }
+    }
+    
+    @Test(timeout=200000)
+    public void targetPrecisionTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        // a quarter of the box dominated, so about 7200 samples needed for 0.01 at 95%
+        estimator.updateWithNewSolution(new MonteCarloSolution(new double[]{1.0, 1.0}, new double[]{1.0, 1.0}));
+        estimator.setNumberOfSamplesToComparePerIteration(1000000);
+        estimator.setTargetPrecision(0.01, 0.95);
+        double h = estimator.getNewHypervolumeEstimate();
+        int used = estimator.getNumberOfSamplesUsedForCurrentEstimate();
+        assertTrue(used > 5000 && used < 10000);
+        double[] interval = estimator.getConfidenceInterval(0.95);
+        assertTrue(interval[1]-interval[0] <= 0.02);
+        assertTrue(interval[0] < h && h < interval[1]);
+        assertEquals(h,0.25,0.02);
+        assertEquals(estimator.getStandardError(),Math.sqrt(h*(1-h)/used),1e-12);
+        
+        // without a target the full budget is drawn
+        estimator.setNumberOfSamplesToComparePerIteration(20000);
+        estimator.setTargetPrecision(0.0, 0.95);
+        estimator.getNewHypervolumeEstimate();
+        assertEquals(estimator.getNumberOfSamplesUsedForCurrentEstimate(),20000);
+        
+        // the budget caps the samples drawn when the target cannot be met
+        estimator.setTargetPrecision(0.001, 0.95);
+        estimator.getNewHypervolumeEstimate();
+        assertEquals(estimator.getNumberOfSamplesUsedForCurrentEstimate(),20000);
+    }
+    
+    @Test(timeout=200000)
+    public void targetPrecisionEmptyBoxTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        // nothing dominated, so the interval narrows after a few hundred samples
+        estimator.setNumberOfSamplesToComparePerIteration(1000000);
+        estimator.setTargetPrecision(0.01, 0.95);
+        assertEquals(estimator.getNewHypervolumeEstimate(),0.0,0.0);
+        assertTrue(estimator.getNumberOfSamplesUsedForCurrentEstimate() < 256);
+        assertEquals(estimator.getStandardError(),0.0,0.0);
+        double[] interval = estimator.getConfidenceInterval(0.95);
+        assertEquals(interval[0],0.0,0.0);
+        assertTrue(interval[1] > 0.0 && interval[1] <= 0.02);
+    }
+    
+    @Test(timeout=200000)
+    public void parallelTargetPrecisionTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        // rounds are sized from the counts, so still reproducible whatever the pool size
+        double[] estimates = new double[2];
+        int[] used = new int[2];
+        int[] poolSizes = {1, 4};
+        for (int i=0; i<2; i++) {
+            BasicHypervolumeEstimator e = new BasicHypervolumeEstimator(2, new double[]{0.0, 0.0}, new double[]{2.0, 2.0});
+            e.updateWithNewSolution(new MonteCarloSolution(new double[]{1.0, 1.0}, new double[]{1.0, 1.0}));
+            e.setNumberOfSamplesToComparePerIteration(1000000);
+            e.setTargetPrecision(0.01, 0.95);
+            e.setRandomSeed(3L);
+            e.setParallelism(new ForkJoinPool(poolSizes[i]), 7);
+            estimates[i] = e.getNewHypervolumeEstimate();
+            used[i] = e.getNumberOfSamplesUsedForCurrentEstimate();
+            double[] interval = e.getConfidenceInterval(0.95);
+            assertTrue(interval[1]-interval[0] <= 0.02);
+        }
+        assertEquals(estimates[0],estimates[1],0.0);
+        assertEquals(used[0],used[1]);
+        assertTrue(used[0] < 20000);
+    }
+    
+    @Test(timeout=200000, expected = IllegalArgumentException.class)
+    public void setTargetPrecisionConfidenceTest()
+    {
+        estimator.setTargetPrecision(0.01, 1.0);
+    }
+    
+    @Test(timeout=200000, expected = IllegalArgumentException.class)
+    public void setTargetPrecisionHalfWidthTest()
+    {
+        estimator.setTargetPrecision(-0.01, 0.95);
+    }
+    
     @Test(timeout=200000)
     public void instrumentedGetNewHypervolumeEstimateTest()
     {
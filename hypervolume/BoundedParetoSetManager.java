@@ -0,0 +1,178 @@
+package hypervolume;
+
+import java.util.Collection;
+
+/**
+ * BoundedParetoSetManager holds the Pareto set in another ParetoSetManager, but
+ * keeps it to at most a fixed capacity. When an entrant takes the set over the
+ * capacity, the member with the smallest exclusive hypervolume contribution to a
+ * box is evicted, the contributions of all members being estimated in a single
+ * Monte Carlo pass (see ExclusiveContributions). Members which dominate none of the
+ * box contribute nothing, so go first; ties go to the entrant, and otherwise to the
+ * first member in the order of a linear copy of the set, so which member is evicted
+ * depends only on the solutions added and the seed of the generator.
+ *
+ * The linear copy is kept alongside the set, so contribution passes need not copy
+ * the set, and an entrant is first tried against it: if the entrant would be the
+ * member evicted, the set is never changed, and the entrant is reported as rejected
+ * (an entrant which takes the set over capacity has evicted no member itself).
+ *
+ * This caps the memory held and the cost of queries, at the price of a contribution
+ * pass for each entrant once at capacity. Estimators holding a bounded set discard
+ * the samples they retain after an eviction (see getNumberOfEvictions), as samples
+ * only the evicted member dominated are no longer dominated, but keep them when an
+ * entrant is turned away.
+ *
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class BoundedParetoSetManager implements ParetoSetManager
+{
+    private final ParetoSetManager set; // manager holding the members
+    private final LinearParetoSetManager members; // linear copy of set, which contributions are attributed by
+    private final int capacity;
+    private final double[] lowerBounds; // box contributions are measured in
+    private final double[] upperBounds;
+    private final int numberOfSamples; // samples drawn for each contribution pass
+    private RandomSource rng = RandomSource.sourceFactory(0L);
+    private long evictions = 0L;
+
+    /**
+     * Generates a BoundedParetoSetManager holding at most capacity members in set,
+     * evicting by contribution to the box defined by lowerBounds and upperBounds,
+     * estimated from numberOfSamples samples
+     *
+     * @param set manager to hold the members, initially empty
+     * @param capacity maximum number of members
+     * @param lowerBounds array of values of lower bound for objectives
+     * @param upperBounds array of values of upper bound for objectives (the reference point)
+     * @param numberOfSamples number of samples drawn to choose each member evicted
+     * @throws IllegalArgumentException if capacity or numberOfSamples is less than 1
+     * @throws IllegalNumberOfObjectivesException if the lengths of the bounds arrays differ
+     */
+    public BoundedParetoSetManager(ParetoSetManager set, int capacity, double[] lowerBounds, double[] upperBounds, int numberOfSamples)
+    throws IllegalArgumentException, IllegalNumberOfObjectivesException
+    {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be at least 1, requested " + capacity);
+        if (numberOfSamples < 1)
+            throw new IllegalArgumentException("Number of samples must be at least 1, requested " + numberOfSamples);
+        if (lowerBounds.length != upperBounds.length)
+            throw new IllegalNumberOfObjectivesException("Number of lower bound values does not match number of upper bound values");
+        this.set = set;
+        members = LinearParetoSetManager.managerFactory(lowerBounds.length);
+        this.capacity = capacity;
+        this.lowerBounds = lowerBounds.clone();
+        this.upperBounds = upperBounds.clone();
+        this.numberOfSamples = numberOfSamples;
+    }
+
+    /**
+     * Returns a factory providing bounded sets held in managers from factory, e.g. to
+     * pass to setParetoSetManagerFactory of an estimator (see constructor)
+     */
+    public static ParetoSetManagerFactory boundedFactory(ParetoSetManagerFactory factory, int capacity,
+        double[] lowerBounds, double[] upperBounds, int numberOfSamples)
+    {
+        return numberOfObjectives -> new BoundedParetoSetManager(factory.newManager(numberOfObjectives),
+            capacity, lowerBounds, upperBounds, numberOfSamples);
+    }
+
+    /**
+     * Sets the generator contribution samples are drawn from
+     *
+     * @param rng generator to draw samples from
+     */
+    public void setRandomSource(RandomSource rng)
+    {
+        this.rng = rng;
+    }
+
+    /**
+     * Returns the maximum number of members held
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Returns true if s entered the set, false if it is weakly dominated, or would
+     * itself be the member evicted (the set being left unchanged either way)
+     */
+    @Override
+    public boolean add(Solution s) throws IllegalNumberOfObjectivesException
+    {
+        if (!members.add(s)) // same verdict, and evictions of dominated members, as set
+            return false;
+        if (members.size() <= capacity) {
+            set.add(s);
+            return true;
+        }
+        Solution evicted = ExclusiveContributions.smallest(members.getContents(),
+            ExclusiveContributions.estimate(members, members, lowerBounds, upperBounds, numberOfSamples, rng), s);
+        members.remove(evicted);
+        if (evicted == s)
+            return false; // over capacity, so s dominated no member, and set is as it was
+        set.add(s);
+        set.remove(evicted);
+        evictions++;
+        return true;
+    }
+
+    @Override
+    public boolean weaklyDominates(Solution s) throws IllegalNumberOfObjectivesException
+    {
+        return set.weaklyDominates(s);
+    }
+
+    @Override
+    public int collectWeaklyDominating(Solution s, Solution[] dominators) throws IllegalNumberOfObjectivesException
+    {
+        return set.collectWeaklyDominating(s, dominators);
+    }
+
+    @Override
+    public Collection<? extends Solution> getContents()
+    {
+        return set.getContents();
+    }
+
+    @Override
+    public int size()
+    {
+        return set.size();
+    }
+
+    @Override
+    public void clean()
+    {
+        set.clean();
+        members.clean();
+    }
+
+    @Override
+    public Solution getRandomMember() throws UnsupportedOperationException
+    {
+        return set.getRandomMember();
+    }
+
+    @Override
+    public boolean remove(Solution s) throws IllegalNumberOfObjectivesException
+    {
+        members.remove(s);
+        return set.remove(s);
+    }
+
+    @Override
+    public long getNumberOfEvictions()
+    {
+        return evictions;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Bounded (" + capacity + ") " + set;
+    }
+}
@@ -3,6 +3,10 @@ package hypervolume;
 /**
  * DDTNode defines node object for use in Dominance Decision Trees.
  * 
+ * Each node also holds the per-objective minimum over its subtree (its own cargo
+ * and all its descendants), so that a query may skip any subtree whose minimum
+ * does not weakly dominate it, as no member of the subtree then can.
+ * 
  * @author Jonathan Fieldsend 
  * @version 29/04/2019
  */
@@ -11,7 +15,9 @@ class DDTNode
     private DDTNode parent;
     private DDTNode[] children;
     private Solution cargo;
+    private final double[] values; // objective values of cargo, its fitness view where it has one
     private int indexAtParent;
+    private double[] subtreeMinimum; // minimum on each objective over the subtree rooted here
     
     DDTNode(Solution cargo, DDTNode parent, int indexAtParent) {
         this(cargo);
@@ -20,7 +26,10 @@ class DDTNode
     
     DDTNode(Solution cargo) {
         this.cargo = cargo;
+        values = Solution.fitnessOf(cargo);
         children = new DDTNode[cargo.getNumberOfObjectives()];
+        subtreeMinimum = new double[cargo.getNumberOfObjectives()];
+        resetSubtreeMinimum();
     }
     
     
@@ -55,6 +64,13 @@ class DDTNode
         return cargo;
     }
     
+    /**
+     * Returns the objective values of the cargo
+     */
+    double[] getValues(){
+        return values;
+    }
+    
     void detach() {
         if (parent!=null)
             parent.children[indexAtParent] = null;
@@ -72,6 +88,38 @@ class DDTNode
         return false;
     }
     
+    double[] getSubtreeMinimum() {
+        return subtreeMinimum;
+    }
+    
+    /**
+     * Resets the subtree minimum to the cargo, as when the node has no children
+     */
+    void resetSubtreeMinimum() {
+        System.arraycopy(values, 0, subtreeMinimum, 0, subtreeMinimum.length);
+    }
+    
+    /**
+     * Lowers the subtree minimum to include the objective values given, on their 
+     * addition to the subtree
+     */
+    void includeInSubtreeMinimum(double[] added) {
+        for (int i=0; i<subtreeMinimum.length; i++)
+            subtreeMinimum[i] = Math.min(subtreeMinimum[i], added[i]);
+    }
+    
+    /**
+     * Recomputes the subtree minimum from the cargo and the subtree minima of the
+     * children, after members of the subtree have been removed
+     */
+    void recomputeSubtreeMinimum() {
+        resetSubtreeMinimum();
+        for (DDTNode child : children)
+            if (child!=null)
+                for (int i=0; i<subtreeMinimum.length; i++)
+                    subtreeMinimum[i] = Math.min(subtreeMinimum[i], child.subtreeMinimum[i]);
+    }
+    
     // can do this more efficiently at a memory and tracking cost
     boolean isLeaf() {
         for (DDTNode node : children)
@@ -0,0 +1,107 @@
+package hypervolume;
+
+/**
+ * DeadlineChecker amortises the cost of reading a clock in a loop running to a
+ * time limit. Rather than reading the clock every iteration, it reads it once
+ * per batch of iterations, sizing the batch from the measured cost of an 
+ * iteration so that the clock is read a bounded number of times per time limit,
+ * and no batch is expected to run past the deadline. The cost estimate is kept 
+ * between uses, so a checker reused across calls starts out calibrated.
+ *
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+class DeadlineChecker
+{
+    static final int CHECKS_PER_LIMIT = 64; // target number of clock reads per time limit
+    static final long MIN_CHECK_INTERVAL = 10_000; // nanoseconds, below which clock reads dominate
+    static final int MAX_BATCH = 1 << 20;
+    
+    private TimingClock clock = TimingClock.THREAD_CPU_TIME;
+    private long startTime;
+    private long nanoseconds; // time limit
+    private double nanosecondsPerIteration = 0.0; // measured cost, 0 if not yet known
+    private long lastReading;
+    private int batch; // iterations since last reading
+    private int countdown; // iterations remaining before next reading
+    private boolean expired;
+    
+    /**
+     * Sets the clock deadlines are measured against, forgetting the measured iteration cost
+     */
+    void setClock(TimingClock clock) {
+        this.clock = clock;
+        nanosecondsPerIteration = 0.0;
+    }
+    
+    /**
+     * Returns the clock deadlines are measured against
+     */
+    TimingClock getClock() {
+        return clock;
+    }
+    
+    /**
+     * Returns the current reading of the clock
+     */
+    long now() {
+        return clock.now();
+    }
+    
+    /**
+     * Starts timing a loop which is to stop nanoseconds after startTime (a reading 
+     * of this checker's clock)
+     */
+    void start(long startTime, long nanoseconds) {
+        this.startTime = startTime;
+        this.nanoseconds = nanoseconds;
+        lastReading = startTime;
+        expired = false;
+        batch = 0;
+        countdown = 0;
+        if (nanosecondsPerIteration > 0.0)
+            setBatch(nanoseconds - (now() - startTime));
+    }
+    
+    /**
+     * Returns true if the deadline has passed, to be called once per iteration 
+     * of the loop; the clock is only read at the end of each batch
+     */
+    boolean hasExpired() {
+        if (countdown > 0) {
+            countdown--;
+            return false;
+        }
+        if (expired)
+            return true;
+        long reading = now();
+        long remaining = nanoseconds - (reading - startTime);
+        if (remaining <= 0) {
+            expired = true;
+            return true;
+        }
+        if (batch > 0) {
+            if (reading > lastReading)
+                nanosecondsPerIteration = (reading - lastReading)/(double) batch;
+            else // clock did not tick over the batch, so iterations are cheaper than it resolves
+                nanosecondsPerIteration = (nanosecondsPerIteration > 0.0) ? nanosecondsPerIteration/2 : 0.0;
+        }
+        lastReading = reading;
+        setBatch(remaining);
+        return false;
+    }
+    
+    /**
+     * Sizes the next batch to run for the check interval, without running past 
+     * the remaining time
+     */
+    private void setBatch(long remaining) {
+        if (nanosecondsPerIteration <= 0.0) {
+            batch = Math.min(MAX_BATCH, Math.max(1, 2*batch)); // uncalibrated, so grow cautiously
+        } else {
+            long interval = Math.min(remaining, Math.max(MIN_CHECK_INTERVAL, nanoseconds/CHECKS_PER_LIMIT));
+            batch = (int) Math.max(1, Math.min(MAX_BATCH, interval/nanosecondsPerIteration));
+        }
+        countdown = batch - 1; // this call counts as the first iteration of the batch
+    }
+}
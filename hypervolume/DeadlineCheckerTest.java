@@ -0,0 +1,75 @@
+package hypervolume;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * The test class DeadlineCheckerTest.
+ *
+ * Class provides tests for DeadlineChecker class.
+ *
+ * @author  Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class DeadlineCheckerTest
+{
+    DeadlineChecker deadline;
+    /**
+     * Default constructor for test class DeadlineCheckerTest
+     */
+    public DeadlineCheckerTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp()
+    {
+        deadline = new DeadlineChecker();
+        deadline.setClock(TimingClock.WALL_CLOCK);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown()
+    {
+        deadline = null;
+    }
+
+    @Test(timeout=200000)
+    public void expiresAfterLimitTest()
+    {
+        long limit = 20_000_000; // 20ms
+        for (int call=0; call<3; call++) { // later calls start calibrated
+            long startTime = deadline.now();
+            deadline.start(startTime, limit);
+            long iterations = 0;
+            double x = 0.0;
+            while (!deadline.hasExpired()) {
+                x += Math.sqrt(iterations++); // some work per iteration
+            }
+            assertTrue(x >= 0.0);
+            assertTrue(deadline.now()-startTime >= limit); // never stops early
+            assertTrue(iterations > 0);
+            assertTrue(deadline.hasExpired()); // stays expired
+        }
+    }
+
+    @Test(timeout=200000)
+    public void zeroLimitTest()
+    {
+        deadline.start(deadline.now(), 0);
+        assertTrue(deadline.hasExpired());
+    }
+}
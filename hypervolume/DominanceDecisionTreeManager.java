@@ -10,6 +10,9 @@ import java.util.Collection;
  * In International Conference on Evolutionary Multi-Criterion Optimization, EMO 2003 
  * (LNCS), Vol. 2632. Springer, 509–518
  * 
+ * with each node tracking the minimum on each objective over its subtree, so 
+ * dominance queries skip subtrees which cannot contain a dominating member.
+ * 
  * @author Jonathan Fieldsend
  * @version 29/04/2019
  */
@@ -33,10 +36,11 @@ public class DominanceDecisionTreeManager implements ParetoSetManager
             root = new DDTNode(s,null,-1);
             size = 1;
         } else {
-            if (detectDomination(root,s))
+            double[] values = Solution.fitnessOf(s);
+            if (detectDomination(root,s,values))
                 return false;
             // not dominated, so need to remove any and all current members than are dominated
-            deleteDominated(root,s);
+            deleteDominated(root,s,values);
             if (size>0) 
                 insert(root,new DDTNode(s));
             else // special case when entire tree has been removed
@@ -52,27 +56,35 @@ public class DominanceDecisionTreeManager implements ParetoSetManager
         throw new UnsupportedOperationException();
     }
     
-    private boolean detectDomination(DDTNode node,Solution s) {
+    /**
+     * Returns true if a member of the subtree at node weakly dominates s, whose objective
+     * values are given by values
+     */
+    private boolean detectDomination(DDTNode node,Solution s,double[] values) {
         //System.out.println("compare " + s + " to " + node.getCargo());
+        if (!Solution.weaklyDominates(node.getSubtreeMinimum(),values))
+            return false; // no member of subtree can weakly dominate s
         if (node.getCargo().weaklyDominates(s))
             return true;
         DDTNode[] children = node.getChildren();    
+        double[] cargo = node.getValues();
         for (int i=0; i<NUMBER_OF_OBJECTIVES; i++ ) 
             if (children[i] != null)
-                if (node.getCargo().getFitness(i)<=s.getFitness(i))
-                    if(detectDomination(children[i],s))
+                if (cargo[i]<=values[i])
+                    if(detectDomination(children[i],s,values))
                         return true;
 
         return false;
     }
 
-    private void deleteDominated(DDTNode node,Solution s) {
+    private void deleteDominated(DDTNode node,Solution s,double[] values) {
 
         DDTNode[] children = node.getChildren();    
+        double[] cargo = node.getValues();
         for (int i=0; i<NUMBER_OF_OBJECTIVES; i++ ) {
             if (children[i] != null)
-                deleteDominated(children[i],s);
-            if (s.getFitness(i)>node.getCargo().getFitness(i))
+                deleteDominated(children[i],s,values);
+            if (values[i]>cargo[i])
                 break;
         }
         // all children of node have been processed by this point, and any dominated removed
@@ -106,6 +118,8 @@ public class DominanceDecisionTreeManager implements ParetoSetManager
                 if (children[j] != null)
                     treeInsert(parent,children[j]); //resinsert node
 
+        } else {
+            node.recomputeSubtreeMinimum(); // members of subtree may have been removed
         }
     }
 
@@ -119,14 +133,18 @@ public class DominanceDecisionTreeManager implements ParetoSetManager
     }
 
     private void insert(DDTNode baseParent, DDTNode node) {
+        baseParent.includeInSubtreeMinimum(node.getValues());
+        double[] values = node.getValues();
+        double[] parentValues = baseParent.getValues();
         int i=0;
         for (; i<NUMBER_OF_OBJECTIVES; i++ ) 
-            if (node.getCargo().getFitness(i) > baseParent.getCargo().getFitness(i))
+            if (values[i] > parentValues[i])
                 break;
         //System.out.println(node.getCargo() + " -- " + baseParent.getCargo() + " -- "+ i);        
         if (baseParent.getChild(i)!=null)        
             insert(baseParent.getChild(i),node);
         else {
+            node.resetSubtreeMinimum(); // inserted nodes are always childless
             baseParent.setChild(i,node);
         }
 
@@ -142,14 +160,15 @@ public class DominanceDecisionTreeManager implements ParetoSetManager
         if (root==null) 
             return false;
         else {
-            return detectDomination(root,s);
+            return detectDomination(root,s,Solution.fitnessOf(s));
         }
     }
 
     @Override
     public Collection<? extends Solution> getContents() {
         ArrayList<Solution> contents = new ArrayList<>();
-        recursivelyExtract(root,contents);
+        if (root != null)
+            recursivelyExtract(root,contents);
         return contents;
     }
 
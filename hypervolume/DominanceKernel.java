@@ -0,0 +1,66 @@
+package hypervolume;
+
+/**
+ * DominanceKernel describes batched dominance tests over tiles of points. A tile holds
+ * TILE points stored objective by objective: value i of lane m is at
+ * offset + i*TILE + m, where offset is the start of the tile. Each test compares the 
+ * whole tile against a single solution and returns the result as a mask, bit m set 
+ * for lane m; callers mask off lanes of a tile not in use.
+ * 
+ * The kernel used is the Vector API implementation where it has been compiled (it
+ * is kept in the optional vector/ source root) and the jdk.incubator.vector module 
+ * is present (run with --add-modules jdk.incubator.vector), otherwise a scalar 
+ * implementation.
+ * 
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+interface DominanceKernel
+{
+    /**
+     * Number of points in a tile, one per bit of the mask
+     */
+    int TILE = 64;
+    
+    /**
+     * Returns the mask of lanes of the tile at offset weakly dominated by s (no better
+     * than s on every objective)
+     */
+    long weaklyDominatedMask(double[] tiles, int offset, int numberOfObjectives, Solution s);
+    
+    /**
+     * Returns the mask of lanes of the tile at offset which weakly dominate s (no worse
+     * than s on every objective)
+     */
+    long weaklyDominatingMask(double[] tiles, int offset, int numberOfObjectives, Solution s);
+    
+    /**
+     * Returns the index in a tiled array of value objective of point index
+     */
+    static int slot(int index, int objective, int numberOfObjectives) {
+        return (index & -TILE)*numberOfObjectives + objective*TILE + (index & (TILE-1));
+    }
+    
+    /**
+     * Returns the mask of the first count lanes of a tile (none if count is not positive,
+     * all if it is at least TILE)
+     */
+    static long lanes(int count) {
+        if (count <= 0)
+            return 0L;
+        return count >= TILE ? -1L : (1L << count) - 1L;
+    }
+    
+    /**
+     * Method provides the Vector API kernel if it has been compiled and the 
+     * jdk.incubator.vector module is present, and the scalar kernel otherwise
+     */
+    static DominanceKernel kernelFactory() {
+        try { // only loaded by name, so its absence is not a linkage error here
+            return (DominanceKernel) Class.forName("hypervolume.VectorDominanceKernel")
+                .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarDominanceKernel();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package hypervolume;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * The test class DominanceKernelTest.
+ *
+ * Class provides tests for the DominanceKernel implementations, against 
+ * one-at-a-time dominance tests.
+ *
+ * @author  Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class DominanceKernelTest
+{
+    RandomSource rng;
+    /**
+     * Default constructor for test class DominanceKernelTest
+     */
+    public DominanceKernelTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp()
+    {
+        rng = RandomSource.sourceFactory(8L);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown()
+    {
+        rng = null;
+    }
+
+    @Test(timeout=200000)
+    public void masksMatchPointwiseTest()
+    {
+        DominanceKernel[] kernels = {new ScalarDominanceKernel(), DominanceKernel.kernelFactory()};
+        for (int numberOfObjectives=1; numberOfObjectives<=9; numberOfObjectives++) {
+            int tiles = 3;
+            int n = tiles*DominanceKernel.TILE;
+            double[] values = new double[n*numberOfObjectives];
+            Solution[] points = new Solution[n];
+            for (int m=0; m<n; m++) {
+                double[] f = new double[numberOfObjectives];
+                for (int i=0; i<numberOfObjectives; i++) {
+                    f[i] = coarseValue(); // coarse, so ties are common
+                    values[DominanceKernel.slot(m,i,numberOfObjectives)] = f[i];
+                }
+                points[m] = pointAt(f);
+            }
+            for (int q=0; q<50; q++) {
+                double[] f = new double[numberOfObjectives];
+                for (int i=0; i<numberOfObjectives; i++)
+                    f[i] = coarseValue();
+                Solution s = pointAt(f);
+                for (int tile=0; tile<tiles; tile++) {
+                    long dominated = 0L;
+                    long dominating = 0L;
+                    for (int m=0; m<DominanceKernel.TILE; m++) {
+                        Solution point = points[tile*DominanceKernel.TILE+m];
+                        if (s.weaklyDominates(point))
+                            dominated |= 1L << m;
+                        if (point.weaklyDominates(s))
+                            dominating |= 1L << m;
+                    }
+                    int offset = tile*DominanceKernel.TILE*numberOfObjectives;
+                    for (DominanceKernel kernel : kernels) {
+                        assertEquals(dominated,kernel.weaklyDominatedMask(values,offset,numberOfObjectives,s));
+                        assertEquals(dominating,kernel.weaklyDominatingMask(values,offset,numberOfObjectives,s));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(timeout=200000)
+    public void lanesTest()
+    {
+        assertEquals(0L,DominanceKernel.lanes(-3));
+        assertEquals(0L,DominanceKernel.lanes(0));
+        assertEquals(7L,DominanceKernel.lanes(3));
+        assertEquals(-1L,DominanceKernel.lanes(DominanceKernel.TILE));
+        assertEquals(-1L,DominanceKernel.lanes(DominanceKernel.TILE+5));
+    }
+
+    /**
+     * Returns one of a few values, occasionally an infinity
+     */
+    private double coarseValue()
+    {
+        double u = rng.nextDouble();
+        if (u < 0.05)
+            return Double.POSITIVE_INFINITY;
+        if (u < 0.1)
+            return Double.NEGATIVE_INFINITY;
+        return Math.floor(rng.nextDouble()*4)/4;
+    }
+
+    /**
+     * Returns a solution at f (built directly, as sampling a box with infinite bounds 
+     * gives NaN)
+     */
+    private static Solution pointAt(double[] f)
+    {
+        Solution s = new MonteCarloSolution(f.length);
+        s.setFitness(f);
+        return s;
+    }
+}
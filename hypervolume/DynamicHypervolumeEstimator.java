@@ -1,7 +1,8 @@
 package hypervolume;
 
 import java.util.ArrayList;
-import java.util.Iterator; 
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * DynamicHypervolumeEstimator uses past history to incrementally
@@ -12,12 +13,25 @@ import java.util.Iterator;
  * it then checks how much time it has remaining to perform new samples and comparisons
  * and conducts these until the limit is reached
  * 
+ * The time limit covers the whole call: if comparing the entrants to the previously 
+ * non-dominated samples exhausts it, the comparison stops, and is resumed from where 
+ * it left off (each pending entrant keeping its own cursor into the samples) on the 
+ * next call. Samples not yet compared to every pending entrant are still counted as 
+ * non-dominated, so the estimate lags the archive until the comparison catches up.
+ * While sampling, the clock is only read once per batch of samples, the batch size
+ * being calibrated to the measured cost of a sample; the clock used may be set via
+ * setTimingClock. If a precision target is set, sampling also stops once it is met,
+ * so the time limit becomes a cap.
+ * 
  * @author Jonathan Fieldsend 
  * @version 09/05/2019
  */
 public class DynamicHypervolumeEstimator extends EfficientIncrementalHypervolumeEstimator
 {
-    private long nanoseconds = 0; // maximum number of time spent on _new_ MC samples
+    private long nanoseconds = 0; // maximum time spent per estimate
+    private final DeadlineChecker deadline = new DeadlineChecker(); // amortises clock reads while sampling
+    private ArrayList<PendingEntrant> pendingEntrants = new ArrayList<>(); // entrants not yet compared to all their samples
+    private static final int COMPARISON_BLOCK = 1024; // samples compared between checks of the time limit
     
     /**
      * Generates an instance of a DynamicHypervolumeEstimator to track the
@@ -41,6 +55,26 @@ public class DynamicHypervolumeEstimator extends EfficientIncrementalHypervolume
         super(numberOfObjectives,lowerBounds,upperBounds);
     }
     
+    /**
+     * Generates an instance of a DynamicHypervolumeEstimator as above, with sample points 
+     * generated as determined by samplingMode. Low-discrepancy sequences are continued
+     * across calls, so the history of samples remains a prefix of a single sequence.
+     * 
+     *  @param numberOfObjectives number of objectives
+     *  @param lowerBounds array of values of lower bound for objectives for MC sampling
+     *  @param upperBounds array of values of upper bound for objectives for MC sampling
+     *  @param samplingMode how sample points are generated
+     *  @throws IllegalNumberOfObjectivesException if the length of a bounds array does 
+     *          not match the number of objectives, if the number of objectives is 
+     *          less than 1, or if the sampling mode does not support the number of 
+     *          objectives (see message in exception)
+     */
+    public DynamicHypervolumeEstimator(int numberOfObjectives, double[] lowerBounds, double[] upperBounds, SamplingMode samplingMode)
+    throws IllegalNumberOfObjectivesException
+    {
+        super(numberOfObjectives,lowerBounds,upperBounds,samplingMode);
+    }
+    
     @Override
     public void setNumberOfSamplesToComparePerIteration(int numberOfSamples) 
     throws UnsupportedOperationException
@@ -55,26 +89,30 @@ public class DynamicHypervolumeEstimator extends EfficientIncrementalHypervolume
         this.nanoseconds = Math.max(1,nanoseconds);
     }
     
+    /**
+     * Sets the clock the time limit is measured against, by default the CPU time 
+     * of the calling thread
+     * 
+     * @param clock clock to measure time limit against
+     */
+    public void setTimingClock(TimingClock clock)
+    {
+        deadline.setClock(clock);
+    }
+    
     @Override
     public double getNewHypervolumeEstimate()
     throws IllegalNumberOfObjectivesException
     {
-        long startTime = HypervolumeEstimator.getCPUTime();
+        long startTime = deadline.now();
         if (nondominatedSamples == null) 
             return updateFirstTime(startTime);
-        // not first time, so need to compare new entrant to archive  
-        int h = compareToStoredListEfficient();
-        h += generateNewMCSamples(startTime,nanoseconds); // now generate new MC samples up to time limit
+        // not first time, so need to compare new entrants to archive, as far as time allows
+        int h = compareToPendingEntrants(startTime);
+        h += generateNewMCSamples(startTime,nanoseconds,h); // now generate new MC samples with any time remaining
         
         hypervolumeSamplesDominated += h; // update number of MC samples that have been dominated in the history
-        hypervolume = hypervolumeSamplesDominated/((double) hypervolumeSamplesDominated + nondominatedSamples.size());
-        return hypervolume;
-    }
-    
-    @Override
-    public int getNumberOfSamplesUsedForCurrentEstimate() 
-    {
-        return hypervolumeSamplesDominated + nondominatedSamples.size();
+        return updateEstimateFromHistory();
     }
     
     @Override
@@ -91,24 +129,153 @@ public class DynamicHypervolumeEstimator extends EfficientIncrementalHypervolume
     private double updateFirstTime(long startTime)
     throws IllegalNumberOfObjectivesException
     {
-        nondominatedSamples = new ArrayList<>(100); // initial max list length is arbitrary
-        hypervolumeSamplesDominated = generateNewMCSamples(startTime,nanoseconds);
-        hypervolume = hypervolumeSamplesDominated/(double) (hypervolumeSamplesDominated + nondominatedSamples.size());    
-        return hypervolume;
+        nondominatedSamples = createSamplePool(100); // initial max pool length is arbitrary
+        discardPendingEntrants(); // new samples are compared to whole archive
+        hypervolumeSamplesDominated = 0; // no history yet
+        hypervolumeSamplesDominated += generateNewMCSamples(startTime,nanoseconds,0);
+        return updateEstimateFromHistory();
     }
     
-    private int generateNewMCSamples(long startTime, long nanoseconds) 
+    /**
+     * Compares the pending entrants, oldest first, to the samples which were in the
+     * pool when they entered the archive, until done or the time limit is reached. 
+     * Returns the number of samples dominated (removed from the pool)
+     */
+    private int compareToPendingEntrants(long startTime)
+    {
+        if (nondominatedSamples.reordersSamples())
+            return compareToPendingEntrantsByQuery(startTime);
+        int numberDominated = 0;
+        Iterator<PendingEntrant> itr = pendingEntrants.iterator();
+        comparison:
+        while (itr.hasNext()) {
+            PendingEntrant p = itr.next();
+            while (p.next < p.end) {
+                if (deadline.now()-startTime >= nanoseconds) // read once per block, so amortised
+                    break comparison; // out of time, resume from p.next on next call
+                int to = Math.min(p.end, p.next+COMPARISON_BLOCK*Math.max(1,numberOfWorkers));
+                numberDominated += nondominatedSamples.retireWeaklyDominatedBy(p.entrant,p.next,to,forkJoinPool,numberOfWorkers);
+                p.next = to;
+            }
+            itr.remove(); // compared to all samples it needs to be
+        }
+        if (numberDominated > 0)
+            compactPool();
+        return numberDominated;
+    }
+    
+    /**
+     * Compares the pending entrants, oldest first, to the samples in an indexed or
+     * sorted pool (whose positions are not stable, so cursors cannot be kept) until 
+     * done or the time limit is reached, each entrant being compared in a single 
+     * query of the pool. Returns the number of samples dominated 
+     */
+    private int compareToPendingEntrantsByQuery(long startTime)
+    {
+        int numberDominated = 0;
+        Iterator<PendingEntrant> itr = pendingEntrants.iterator();
+        while (itr.hasNext() && deadline.now()-startTime < nanoseconds) {
+            // samples added since the entrant are not dominated by it, so may be included in the query
+            numberDominated += nondominatedSamples.removeWeaklyDominatedBy(itr.next().entrant);
+            itr.remove();
+        }
+        return numberDominated;
+    }
+    
+    /**
+     * Removes the samples marked as dominated from the pool, remapping the cursors 
+     * of the pending entrants
+     */
+    private void compactPool()
+    {
+        int[] positions = new int[2*pendingEntrants.size()];
+        for (int i=0; i<pendingEntrants.size(); i++) {
+            positions[2*i] = pendingEntrants.get(i).next;
+            positions[2*i+1] = pendingEntrants.get(i).end;
+        }
+        nondominatedSamples.compactRetired(positions);
+        for (int i=0; i<pendingEntrants.size(); i++) {
+            pendingEntrants.get(i).next = positions[2*i];
+            pendingEntrants.get(i).end = positions[2*i+1];
+        }
+    }
+    
+    @Override
+    void configurePool(SamplePool pool)
+    {
+        super.configurePool(pool);
+        for (PendingEntrant p : pendingEntrants) { // samples may have been reordered, so restart cursors
+            p.next = 0;
+            p.end = pool.size();
+        }
+    }
+    
+    @Override
+    void recordEntrant(Solution s)
+    {
+        // an evicted entrant need not be compared further, as s weakly dominates
+        // it, and will be compared to all the samples it would have been
+        pendingEntrants.removeIf(p -> s.weaklyDominates(p.entrant));
+        int end = (nondominatedSamples == null) ? 0 : nondominatedSamples.size();
+        pendingEntrants.add(new PendingEntrant(s,end));
+    }
+    
+    @Override
+    List<? extends Solution> entrantsNotYetCompared()
+    {
+        ArrayList<Solution> entrants = new ArrayList<>(pendingEntrants.size());
+        for (PendingEntrant p : pendingEntrants)
+            entrants.add(p.entrant);
+        return entrants;
+    }
+    
+    @Override
+    void discardPendingEntrants()
+    {
+        super.discardPendingEntrants();
+        pendingEntrants.clear();
+    }
+    
+    /**
+     * Generates Monte Carlo samples until the time limit is reached, or a precision 
+     * target is met, returning the number dominated (as generateNewMCSamples(int,int))
+     */
+    private int generateNewMCSamples(long startTime, long nanoseconds, int alreadyDominated) 
     throws IllegalNumberOfObjectivesException
     {
         int numberDominated = 0;
-        while (HypervolumeEstimator.getCPUTime()-startTime < nanoseconds){
-            MonteCarloSolution s = new MonteCarloSolution(lowerBounds, upperBounds);
-            if (list.weaklyDominates(s)){
+        deadline.start(startTime,nanoseconds);
+        for (int i=0; !deadline.hasExpired(); i++){
+            if (i % PrecisionTarget.CHECK_INTERVAL == 0 && precisionTarget != null) {
+                int dominated = hypervolumeSamplesDominated + alreadyDominated + numberDominated;
+                if (isPrecise(dominated, dominated + nondominatedSamples.size()))
+                    break;
+            }
+            sample.resample(lowerBounds, upperBounds, sequence);
+            if (list.weaklyDominates(sample)){
                 numberDominated++;
             } else {
-                nondominatedSamples.add(s); // record non-dominated
+                nondominatedSamples.add(sample); // record non-dominated, copying values into pool
             }
         }
         return numberDominated;
     }
+    
+    /**
+     * Archive entrant awaiting comparison to the samples in [next,end) of the pool,
+     * end being the pool size when it entered (later samples were generated with 
+     * it already in the archive)
+     */
+    private static class PendingEntrant
+    {
+        final Solution entrant;
+        int next = 0;
+        int end;
+        
+        PendingEntrant(Solution entrant, int end)
+        {
+            this.entrant = entrant;
+            this.end = end;
+        }
+    }
 }
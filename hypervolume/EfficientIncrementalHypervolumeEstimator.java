@@ -1,18 +1,24 @@
 package hypervolume;
 
-import java.util.Iterator; 
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * EfficientIncrementalHypervolumeEstimator uses past history to incrementally
  * improve hypervolume estimation over time, and is smart in terms of comparing
- * previously non-dominated samples only to new entrants to the archive.
+ * previously non-dominated samples only to new entrants to the archive. 
+ * All entrants which have survived in the archive since the last estimate are
+ * tracked, so estimates may be made less often than the archive is updated 
+ * (e.g. every N updates), with the samples compared to all pending entrants 
+ * in a single pass.
  * 
  * @author Jonathan Fieldsend 
  * @version 09/05/2019
  */
 public class EfficientIncrementalHypervolumeEstimator extends IncrementalHypervolumeEstimator
 {
-    private Solution improvingEntrant; // track if last entrant was improving
+    private ArrayList<Solution> improvingEntrants = new ArrayList<>(); // track improving entrants since last estimate
+    private boolean spatialIndexing = false; // index samples on a grid, so rescans visit only dominated orthants
     
     /**
      * Generates an instance of a EfficientIncrementalHypervolumeEstimator to track the
@@ -36,19 +42,67 @@ public class EfficientIncrementalHypervolumeEstimator extends IncrementalHypervo
         super(numberOfObjectives,lowerBounds,upperBounds);
     }
     
+    /**
+     * Generates an instance of a EfficientIncrementalHypervolumeEstimator as above, with sample points 
+     * generated as determined by samplingMode. Low-discrepancy sequences are continued
+     * across calls, so the history of samples remains a prefix of a single sequence.
+     * 
+     *  @param numberOfObjectives number of objectives
+     *  @param lowerBounds array of values of lower bound for objectives for MC sampling
+     *  @param upperBounds array of values of upper bound for objectives for MC sampling
+     *  @param samplingMode how sample points are generated
+     *  @throws IllegalNumberOfObjectivesException if the length of a bounds array does 
+     *          not match the number of objectives, if the number of objectives is 
+     *          less than 1, or if the sampling mode does not support the number of 
+     *          objectives (see message in exception)
+     */
+    public EfficientIncrementalHypervolumeEstimator(int numberOfObjectives, double[] lowerBounds, double[] upperBounds, SamplingMode samplingMode)
+    throws IllegalNumberOfObjectivesException
+    {
+        super(numberOfObjectives,lowerBounds,upperBounds,samplingMode);
+    }
+    
+    /**
+     * Sets whether the samples not yet dominated are indexed on a uniform grid over 
+     * the sampling box. When indexed, comparing an entrant to the samples only visits
+     * the grid cells in the orthant it dominates, so costs time roughly proportional to
+     * the number of samples it dominates, rather than to the number retained. This 
+     * pays off when many samples are retained and the number of objectives is small 
+     * enough for the grid to have several cells on each objective. Indexing takes 
+     * precedence over keeping the samples sorted (see setSortedObjective).
+     * 
+     * @param spatialIndexing true if samples are to be indexed
+     */
+    public void setSpatialIndexing(boolean spatialIndexing)
+    {
+        this.spatialIndexing = spatialIndexing;
+        if (nondominatedSamples != null)
+            configurePool(nondominatedSamples);
+    }
+    
+    @Override
+    void configurePool(SamplePool pool)
+    {
+        if (!spatialIndexing)
+            super.configurePool(pool); // may be kept sorted instead
+        else if (!pool.isIndexed())
+            pool.indexOnGrid(lowerBounds, upperBounds);
+    }
+    
     @Override
     public double getNewHypervolumeEstimate()
     throws IllegalNumberOfObjectivesException
     {
-        if (nondominatedSamples == null)  // first time called, special case
+        if (nondominatedSamples == null) { // first time called, special case
+            discardPendingEntrants(); // new samples are compared to whole archive
             return updateFirstTime();
+        }
         int toGenerate = Math.max(0,numberOfSamples-nondominatedSamples.size()); // calculate beforehand, as list may change
         int h = compareToStoredListEfficient();
-        h += generateNewMCSamples(toGenerate); // now generate new MC samples up to limit
+        h += generateNewMCSamples(toGenerate,h); // now generate new MC samples up to limit
         
-        hypervolume = (1/((double) numberOfSamples + hypervolumeSamplesDominated)) * (hypervolumeSamplesDominated + h);
         hypervolumeSamplesDominated += h;
-        return hypervolume;
+        return updateEstimateFromHistory();
     }
     
     @Override
@@ -63,28 +117,33 @@ public class EfficientIncrementalHypervolumeEstimator extends IncrementalHypervo
     }
     
     /**
-     * Compares the previously non-dominated solutions to the current
-     * Pareto set estimate, return the number dominated (removed from 
-     * the sample list)
+     * Compares the previously non-dominated solutions to the entrants to the
+     * Pareto set estimate since the last estimate, return the number dominated 
+     * (removed from the sample list)
      */
     int compareToStoredListEfficient() 
     throws IllegalNumberOfObjectivesException
     {
-        int numberDominated = 0;
-        if (improvingEntrant != null) {
-            // first iterate over samples which haven't been dominated in previous iterations
-            Iterator<Solution> itr = nondominatedSamples.iterator();
-            while (itr.hasNext()) {
-                Solution s  = itr.next();
-                if (improvingEntrant.weaklyDominates(s)){ 
-                    numberDominated++;
-                    itr.remove();
-                }
-            }
-        }
+        // iterate over samples which haven't been dominated in previous iterations
+        int numberDominated = nondominatedSamples.removeWeaklyDominatedByAny(improvingEntrants, forkJoinPool, numberOfWorkers);
+        discardPendingEntrants();
         return numberDominated;
     }
     
+    @Override
+    List<? extends Solution> entrantsNotYetCompared()
+    {
+        return improvingEntrants;
+    }
+    
+    /**
+     * Forgets the entrants since the last estimate, once the samples have been compared to them
+     */
+    void discardPendingEntrants()
+    {
+        improvingEntrants.clear();
+    }
+    
     @Override
     public boolean updateWithNewSolution(Solution s)
     throws IllegalNumberOfObjectivesException
@@ -93,10 +152,17 @@ public class EfficientIncrementalHypervolumeEstimator extends IncrementalHypervo
         // for use in efficient hypervolume calculation
         boolean improvement = super.updateWithNewSolution(s);
         if (improvement)
-            improvingEntrant = s;
-        else
-            improvingEntrant = null;
+            recordEntrant(s);
         return improvement;    
     }
     
+    /**
+     * Records s, which has just entered the Pareto set estimate, as pending comparison
+     * with the previously non-dominated samples
+     */
+    void recordEntrant(Solution s)
+    {
+        HypervolumeEstimator.addSurvivor(improvingEntrants, s); // drops any entrants s has evicted
+    }
+    
 }
@@ -5,6 +5,10 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import java.util.Random;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The test class EstimatorsTest.
@@ -94,4 +98,371 @@ public class EstimatorsTest
         estimator[3].setTimeLimit(maxTime);
         SharedTest.exampleEvolvingRun(estimator,0L,numberOfObjectives,10000);      
     }
+    
+    @Test(timeout=200000)
+    public void incrementalExactMatchesExactTest()
+    throws IllegalNumberOfObjectivesException {
+        for (int numberOfObjectives=2; numberOfObjectives<=3; numberOfObjectives++) {
+            double[] lowerBounds = new double[ numberOfObjectives];
+            double[] upperBounds = new double[ numberOfObjectives];
+            for (int i=0; i<numberOfObjectives; i++) {
+                lowerBounds[i] = 0.0;
+                upperBounds[i] = 2.0;
+            }
+            HypervolumeEstimator estimator[] = new HypervolumeEstimator[2];
+            estimator[0] = new ExactHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            estimator[1] = new IncrementalExactHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            SharedTest.exampleEvolvingRun(estimator,0L,numberOfObjectives,2000);
+            assertEquals(estimator[0].getNewHypervolumeEstimate(),estimator[1].getNewHypervolumeEstimate(),1e-9);
+            
+            // random points, some outside the box, checking after every update
+            estimator[0] = new ExactHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            estimator[1] = new IncrementalExactHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            RandomSource rng = RandomSource.sourceFactory(1L);
+            double[] widerLowerBounds = new double[numberOfObjectives];
+            double[] widerUpperBounds = new double[numberOfObjectives];
+            java.util.Arrays.fill(widerLowerBounds, -0.5);
+            java.util.Arrays.fill(widerUpperBounds, 2.5);
+            for (int i=0; i<500; i++) {
+                Solution s = new MonteCarloSolution(widerLowerBounds, widerUpperBounds, rng);
+                estimator[0].updateWithNewSolution(s);
+                estimator[1].updateWithNewSolution(s);
+                assertEquals(estimator[0].getNewHypervolumeEstimate(),estimator[1].getNewHypervolumeEstimate(),1e-9);
+            }
+        }
+    }
+    
+    @Test(timeout=200000, expected = IllegalNumberOfObjectivesException.class)
+    public void incrementalExactObjectivesTest()
+    throws IllegalNumberOfObjectivesException {
+        new IncrementalExactHypervolumeEstimator(4, new double[4], new double[]{1.0, 1.0, 1.0, 1.0});
+    }
+    
+    @Test(timeout=200000)
+    public void batchUpdateTest()
+    throws IllegalNumberOfObjectivesException {
+        // comparing only to surviving entrants must retire exactly the samples a full 
+        // archive rescan does, so with the same seed the estimates must be identical
+        double[] lowerBounds = new double[]{0.0, 0.0, 0.0};
+        double[] upperBounds = new double[]{1.0, 1.0, 1.0};
+        HypervolumeEstimator estimator[] = new HypervolumeEstimator[2];
+        estimator[0] = new IncrementalHypervolumeEstimator(3, lowerBounds, upperBounds);
+        estimator[1] = new EfficientIncrementalHypervolumeEstimator(3, lowerBounds, upperBounds);
+        for (HypervolumeEstimator e : estimator) 
+            e.setNumberOfSamplesToComparePerIteration(2000);
+        SharedTest.shrinkingBoxRun(estimator, 2L, 3, 20, null);
+    }
+    
+    @Test(timeout=200000)
+    public void spatialIndexingTest()
+    throws IllegalNumberOfObjectivesException {
+        // indexing the samples must not change which are retired, so with the same 
+        // seed the estimates must be identical
+        double[] lowerBounds = new double[]{0.0, 0.0, 0.0};
+        double[] upperBounds = new double[]{1.0, 1.0, 1.0};
+        EfficientIncrementalHypervolumeEstimator estimator[] = new EfficientIncrementalHypervolumeEstimator[2];
+        estimator[0] = new EfficientIncrementalHypervolumeEstimator(3, lowerBounds, upperBounds);
+        estimator[1] = new EfficientIncrementalHypervolumeEstimator(3, lowerBounds, upperBounds);
+        estimator[1].setSpatialIndexing(true);
+        for (HypervolumeEstimator e : estimator) 
+            e.setNumberOfSamplesToComparePerIteration(5000);
+        // indexing may be switched on part way
+        SharedTest.shrinkingBoxRun(estimator, 4L, 3, 10, () -> estimator[0].setSpatialIndexing(true));
+    }
+    
+    @Test(timeout=200000)
+    public void sortedObjectiveTest()
+    throws IllegalNumberOfObjectivesException {
+        // keeping the samples sorted must not change which are retired, so with the 
+        // same seed the estimates must be identical
+        double[] lowerBounds = new double[]{0.0, 0.0, 0.0};
+        double[] upperBounds = new double[]{1.0, 1.0, 1.0};
+        IncrementalHypervolumeEstimator estimator[] = new IncrementalHypervolumeEstimator[3];
+        estimator[0] = new IncrementalHypervolumeEstimator(3, lowerBounds, upperBounds);
+        estimator[1] = new IncrementalHypervolumeEstimator(3, lowerBounds, upperBounds);
+        estimator[2] = new EfficientIncrementalHypervolumeEstimator(3, lowerBounds, upperBounds);
+        estimator[1].setSortedObjective(0);
+        estimator[2].setSortedObjective(2);
+        for (HypervolumeEstimator e : estimator) 
+            e.setNumberOfSamplesToComparePerIteration(5000);
+        // sorting may be switched on part way
+        SharedTest.shrinkingBoxRun(estimator, 5L, 3, 10, () -> estimator[0].setSortedObjective(1));
+    }
+    
+    @Test(timeout=200000)
+    public void decoupledEstimateTest()
+    throws IllegalNumberOfObjectivesException {
+        // estimating once every ten updates must retire the same samples as a full 
+        // archive rescan, so with the same seed the estimates must be identical
+        int numberOfObjectives = 2;
+        double[] lowerBounds = new double[]{0.0, 0.0};
+        double[] upperBounds = new double[]{1.0, 1.0};
+        HypervolumeEstimator estimator[] = new HypervolumeEstimator[2];
+        estimator[0] = new IncrementalHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+        estimator[1] = new EfficientIncrementalHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+        RandomSource rng = RandomSource.sourceFactory(3L);
+        for (HypervolumeEstimator e : estimator) 
+            e.setNumberOfSamplesToComparePerIteration(2000);
+        for (int i=0; i<1000; i++) {
+            double[] lower = new double[]{0.5 - 0.0005*i, 0.5 - 0.0005*i};
+            Solution s = new MonteCarloSolution(lower, upperBounds, rng);
+            for (HypervolumeEstimator e : estimator) 
+                e.updateWithNewSolution(s);
+            if (i%10 == 0)
+                assertEquals(estimator[0].getNewHypervolumeEstimate(),estimator[1].getNewHypervolumeEstimate(),0.0);
+        }
+    }
+    
+    @Test(timeout=200000)
+    public void targetPrecisionTest()
+    throws IllegalNumberOfObjectivesException {
+        // with a precision target the incremental estimators stop drawing new samples once
+        // their history is large enough, and their intervals should hold the exact value
+        int numberOfObjectives = 3;
+        double[] lowerBounds = new double[]{0.0, 0.0, 0.0};
+        double[] upperBounds = new double[]{1.0, 1.0, 1.0};
+        HypervolumeEstimator estimator[] = new HypervolumeEstimator[4];
+        estimator[0] = new ExactHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+        estimator[1] = new IncrementalHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+        estimator[2] = new EfficientIncrementalHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+        estimator[3] = new DynamicHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+        estimator[1].setNumberOfSamplesToComparePerIteration(100000);
+        estimator[2].setNumberOfSamplesToComparePerIteration(100000);
+        estimator[3].setTimeLimit(1000000000L); // a second, far longer than the target needs
+        for (HypervolumeEstimator e : estimator)
+            e.setTargetPrecision(0.01, 0.95);
+        RandomSource rng = RandomSource.sourceFactory(7L);
+        for (int generation=0; generation<20; generation++) {
+            for (int i=0; i<10; i++) {
+                double[] lower = new double[numberOfObjectives];
+                java.util.Arrays.fill(lower, 0.6 - 0.02*generation);
+                Solution s = new MonteCarloSolution(lower, upperBounds, rng);
+                for (HypervolumeEstimator e : estimator) 
+                    e.updateWithNewSolution(s);
+            }
+            double h = estimator[0].getNewHypervolumeEstimate();
+            assertEquals(estimator[0].getStandardError(),0.0,0.0);
+            assertEquals(estimator[0].getConfidenceInterval(0.95)[0],h,0.0);
+            for (int j=1; j<estimator.length; j++) {
+                estimator[j].getNewHypervolumeEstimate();
+                assertTrue(estimator[j].getNumberOfSamplesUsedForCurrentEstimate() < 20000);
+                double[] interval = estimator[j].getConfidenceInterval(0.999);
+                assertTrue(interval[0] <= h && h <= interval[1]);
+                interval = estimator[j].getConfidenceInterval(0.95);
+                assertTrue(interval[1]-interval[0] <= 0.02);
+            }
+        }
+    }
+    
+    @Test(timeout=200000)
+    public void estimateImprovementTest()
+    throws IllegalNumberOfObjectivesException {
+        // improvements must be close to those calculated exactly, leave the archives and
+        // later estimates unchanged, and the batch form must match single queries
+        for (int numberOfObjectives=2; numberOfObjectives<=3; numberOfObjectives++) {
+            double[] lowerBounds = new double[numberOfObjectives];
+            double[] upperBounds = new double[numberOfObjectives];
+            java.util.Arrays.fill(upperBounds, 1.0);
+            HypervolumeEstimator estimator[] = new HypervolumeEstimator[5];
+            HypervolumeEstimator twin[] = new HypervolumeEstimator[5]; // never queried
+            for (int k=0; k<2; k++) {
+                HypervolumeEstimator[] e = (k == 0) ? estimator : twin;
+                e[0] = new ExactHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+                e[1] = new BasicHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+                e[2] = new IncrementalHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+                e[3] = new EfficientIncrementalHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+                e[4] = new StratifiedHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+                for (HypervolumeEstimator x : e) {
+                    x.setNumberOfSamplesToComparePerIteration(50000);
+                    x.setRandomSeed(1L);
+                }
+            }
+            RandomSource rng = RandomSource.sourceFactory(9L);
+            double[] widerLowerBounds = new double[numberOfObjectives];
+            java.util.Arrays.fill(widerLowerBounds, 0.2);
+            for (int generation=0; generation<5; generation++) {
+                for (int i=0; i<20; i++) { // entrants after the estimate are pending when queried
+                    Solution s = new MonteCarloSolution(widerLowerBounds, upperBounds, rng);
+                    for (int j=0; j<estimator.length; j++) {
+                        estimator[j].updateWithNewSolution(s);
+                        twin[j].updateWithNewSolution(s);
+                    }
+                }
+                List<Solution> candidates = new ArrayList<>();
+                for (int i=0; i<20; i++)
+                    candidates.add(new MonteCarloSolution(lowerBounds, upperBounds, rng));
+                candidates.add(estimator[0].getCurrentParetoSetEstimate().getContents().iterator().next()); // adds nothing
+                double[] exact = estimator[0].estimateImprovements(candidates);
+                assertEquals(exact[candidates.size()-1],0.0,0.0);
+                for (int i=0; i<candidates.size(); i++) { // exact improvement is difference of hypervolumes
+                    ExactHypervolumeEstimator withCandidate = new ExactHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+                    for (Solution s : estimator[0].getCurrentParetoSetEstimate().getContents())
+                        withCandidate.updateWithNewSolution(s);
+                    double before = withCandidate.getNewHypervolumeEstimate();
+                    withCandidate.updateWithNewSolution(candidates.get(i));
+                    assertEquals(exact[i],withCandidate.getNewHypervolumeEstimate()-before,1e-12);
+                }
+                for (int j=1; j<estimator.length; j++) {
+                    int size = estimator[j].getCurrentParetoSetEstimate().size();
+                    double[] improvements = estimator[j].estimateImprovements(candidates);
+                    for (int i=0; i<candidates.size(); i++) {
+                        assertEquals(improvements[i],exact[i],0.01);
+                        if (j != 1 && j != 4 && generation > 0) // otherwise sampled afresh each query
+                            assertEquals(improvements[i],estimator[j].estimateImprovement(candidates.get(i)),0.0);
+                    }
+                    assertEquals(improvements[candidates.size()-1],0.0,0.0);
+                    assertEquals(size,estimator[j].getCurrentParetoSetEstimate().size());
+                    assertEquals(estimator[j].getNewHypervolumeEstimate(),twin[j].getNewHypervolumeEstimate(),0.0);
+                }
+            }
+        }
+    }
+    
+    @Test(timeout=200000)
+    public void estimateContributionsTest()
+    throws IllegalNumberOfObjectivesException {
+        // exact contributions must be the hypervolume lost by removing each member, and the
+        // single pass estimates of every estimator close to them
+        for (int numberOfObjectives=2; numberOfObjectives<=4; numberOfObjectives++) {
+            double[] lowerBounds = new double[numberOfObjectives];
+            double[] upperBounds = new double[numberOfObjectives];
+            java.util.Arrays.fill(upperBounds, 1.0);
+            HypervolumeEstimator estimator[] = new HypervolumeEstimator[5];
+            estimator[0] = new ExactHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            estimator[1] = new BasicHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            estimator[2] = new IncrementalHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            estimator[3] = new EfficientIncrementalHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            estimator[4] = new StratifiedHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            for (HypervolumeEstimator e : estimator)
+                assertTrue(e.estimateContributions(1000).isEmpty());
+            RandomSource rng = RandomSource.sourceFactory(4L);
+            double[] widerLowerBounds = new double[numberOfObjectives];
+            java.util.Arrays.fill(widerLowerBounds, 0.3);
+            for (int i=0; i<30; i++) {
+                Solution s = new MonteCarloSolution(widerLowerBounds, upperBounds, rng);
+                for (HypervolumeEstimator e : estimator)
+                    e.updateWithNewSolution(s);
+            }
+            Map<Solution,Double> exact = estimator[0].estimateContributions(0);
+            Collection<? extends Solution> members = estimator[0].getCurrentParetoSetEstimate().getContents();
+            assertEquals(exact.size(),members.size());
+            double hypervolume = estimator[0].getNewHypervolumeEstimate();
+            for (Solution member : members) {
+                ExactHypervolumeEstimator without = new ExactHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+                for (Solution s : members)
+                    if (s != member)
+                        without.updateWithNewSolution(s);
+                assertEquals(exact.get(member),hypervolume-without.getNewHypervolumeEstimate(),1e-12);
+            }
+            for (int j=1; j<estimator.length; j++) {
+                Map<Solution,Double> contributions = estimator[j].estimateContributions(200000);
+                assertEquals(contributions.size(),members.size());
+                for (Solution member : members)
+                    assertEquals(contributions.get(member),exact.get(member),0.003);
+            }
+        }
+    }
+
+    @Test(timeout=200000)
+    public void boundedArchiveTest()
+    throws IllegalNumberOfObjectivesException {
+        // once members are evicted, estimates must follow the hypervolume of the bounded set,
+        // not that of every solution ever non-dominated
+        for (int numberOfObjectives=2; numberOfObjectives<=3; numberOfObjectives++) {
+            double[] lowerBounds = new double[numberOfObjectives];
+            double[] upperBounds = new double[numberOfObjectives];
+            java.util.Arrays.fill(upperBounds, 1.0);
+            BasicHypervolumeEstimator estimator[] = new BasicHypervolumeEstimator[6];
+            estimator[0] = new ExactHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            estimator[1] = new IncrementalExactHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            estimator[2] = new IncrementalHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            estimator[3] = new EfficientIncrementalHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            estimator[4] = new DynamicHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            estimator[5] = new StratifiedHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            for (BasicHypervolumeEstimator e : estimator) {
+                if (e instanceof DynamicHypervolumeEstimator)
+                    e.setTimeLimit(20000000L);
+                else
+                    e.setNumberOfSamplesToComparePerIteration(20000);
+                e.setParetoSetManagerFactory(BoundedParetoSetManager.boundedFactory(NDTreeManager::managerFactory, 10, lowerBounds, upperBounds, 2000));
+            }
+            RandomSource rng = RandomSource.sourceFactory(6L);
+            for (int generation=0; generation<20; generation++) {
+                List<Solution> offspring = new ArrayList<>();
+                for (int i=0; i<10; i++) { // on a plane, so all mutually non-dominated
+                    double[] f = new double[numberOfObjectives];
+                    double sum = 0.0;
+                    for (int k=0; k<numberOfObjectives; k++)
+                        sum += f[k] = rng.nextDouble();
+                    for (int k=0; k<numberOfObjectives; k++)
+                        f[k] = 0.2 + 0.8*f[k]/sum;
+                    offspring.add(new MonteCarloSolution(f, f));
+                }
+                for (BasicHypervolumeEstimator e : estimator) {
+                    List<Solution> survivors = e.updateWithNewSolutions(offspring);
+                    for (Solution s : survivors)
+                        assertTrue(e.getCurrentParetoSetEstimate().getContents().contains(s));
+                    assertTrue(e.getCurrentParetoSetEstimate().size() <= 10);
+                }
+                for (int j=0; j<estimator.length; j++) {
+                    ExactHypervolumeEstimator exact = new ExactHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+                    for (Solution s : estimator[j].getCurrentParetoSetEstimate().getContents())
+                        exact.updateWithNewSolution(s);
+                    double h = exact.getNewHypervolumeEstimate();
+                    assertEquals(estimator[j].getNewHypervolumeEstimate(),h,(j < 2) ? 1e-12 : 0.02);
+                }
+            }
+            assertTrue(estimator[2].getCurrentParetoSetEstimate().getNumberOfEvictions() > 0);
+        }
+    }
+
+    @Test(timeout=200000)
+    public void boundedArchiveTurnedAwayTest()
+    throws IllegalNumberOfObjectivesException {
+        // an entrant turned away by a full bounded set evicts nothing, so the samples
+        // retained must be kept and added to, not drawn afresh
+        double[] lowerBounds = new double[]{0.0, 0.0};
+        double[] upperBounds = new double[]{1.0, 1.0};
+        IncrementalHypervolumeEstimator estimator = new IncrementalHypervolumeEstimator(2, lowerBounds, upperBounds);
+        estimator.setNumberOfSamplesToComparePerIteration(1000);
+        estimator.setParetoSetManagerFactory(BoundedParetoSetManager.boundedFactory(LinearParetoSetManager::managerFactory, 2, lowerBounds, upperBounds, 1000));
+        assertTrue(estimator.updateWithNewSolution(new MonteCarloSolution(new double[]{0.2, 0.8}, new double[]{0.2, 0.8})));
+        assertTrue(estimator.updateWithNewSolution(new MonteCarloSolution(new double[]{0.8, 0.2}, new double[]{0.8, 0.2})));
+        estimator.getNewHypervolumeEstimate();
+        assertEquals(estimator.getNumberOfSamplesUsedForCurrentEstimate(),1000);
+        // non-dominated, but dominates none of the box
+        assertFalse(estimator.updateWithNewSolution(new MonteCarloSolution(new double[]{1.2, -0.5}, new double[]{1.2, -0.5})));
+        assertEquals(estimator.getCurrentParetoSetEstimate().getNumberOfEvictions(),0L);
+        assertEquals(estimator.getCurrentParetoSetEstimate().size(),2);
+        estimator.getNewHypervolumeEstimate();
+        assertTrue(estimator.getNumberOfSamplesUsedForCurrentEstimate() > 1000); // fresh samples would number 1000
+        assertEquals(estimator.getNewHypervolumeEstimate(),0.28,0.05);
+    }
+
+    @Test(timeout=200000)
+    public void parallelEstimateImprovementTest()
+    throws IllegalNumberOfObjectivesException {
+        // the pool scan split across workers must count exactly as the sequential one
+        double[] lowerBounds = new double[]{0.0, 0.0, 0.0};
+        double[] upperBounds = new double[]{1.0, 1.0, 1.0};
+        EfficientIncrementalHypervolumeEstimator estimator[] = new EfficientIncrementalHypervolumeEstimator[2];
+        for (int k=0; k<2; k++) {
+            estimator[k] = new EfficientIncrementalHypervolumeEstimator(3, lowerBounds, upperBounds);
+            estimator[k].setNumberOfSamplesToComparePerIteration(100000);
+        }
+        estimator[1].setParallelism(new java.util.concurrent.ForkJoinPool(4), 4);
+        RandomSource rng = RandomSource.sourceFactory(2L);
+        double[] widerLowerBounds = new double[]{0.3, 0.3, 0.3};
+        for (int i=0; i<50; i++) {
+            Solution s = new MonteCarloSolution(widerLowerBounds, upperBounds, rng);
+            for (HypervolumeEstimator e : estimator)
+                e.updateWithNewSolution(s);
+        }
+        for (HypervolumeEstimator e : estimator)
+            e.getNewHypervolumeEstimate();
+        List<Solution> candidates = new ArrayList<>();
+        for (int i=0; i<100; i++)
+            candidates.add(new MonteCarloSolution(lowerBounds, upperBounds, rng));
+        assertArrayEquals(estimator[0].estimateImprovements(candidates),estimator[1].estimateImprovements(candidates),0.0);
+    }
 }
@@ -0,0 +1,187 @@
+package hypervolume;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * ExactHypervolume computes the exact hypervolume dominated by a set of points
+ * (minimisation). Two and three objectives use dedicated O(n log n) sweeps, and
+ * higher dimensions use the WFG algorithm of
+ * 
+ * Lyndon While, Lucas Bradstreet and Luigi Barone. 2012. 
+ * A Fast Way of Calculating Exact Hypervolumes. 
+ * IEEE Transactions on Evolutionary Computation 16, 1 (2012), 86–95
+ * 
+ * which sums the exclusive hypervolume of each point, bounding each point's 
+ * exclusive hypervolume by the limit set of the points after it, and slicing on 
+ * the last objective so the limit sets are computed one dimension lower.
+ * 
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+final class ExactHypervolume
+{
+    private ExactHypervolume() {
+    }
+    
+    /**
+     * Returns the proportion of the box defined by lowerBounds and upperBounds that
+     * is weakly dominated by the solutions in set -- i.e. the quantity the Monte Carlo 
+     * estimators estimate
+     */
+    static double proportionOfBoxDominated(Collection<? extends Solution> set, double[] lowerBounds, double[] upperBounds) {
+        double boxVolume = 1.0;
+        for (int i=0; i<lowerBounds.length; i++)
+            boxVolume *= upperBounds[i] - lowerBounds[i];
+        if (boxVolume <= 0.0)
+            return 0.0;
+        return hypervolume(clipToBox(set, lowerBounds, upperBounds), upperBounds)/boxVolume;
+    }
+    
+    /**
+     * Returns the points of set clipped to the box, dropping any which dominate none of it 
+     */
+    static double[][] clipToBox(Collection<? extends Solution> set, double[] lowerBounds, double[] upperBounds) {
+        ArrayList<double[]> points = new ArrayList<>(set.size());
+        for (Solution s : set) {
+            double[] p = clipToBox(s, lowerBounds, upperBounds);
+            if (p != null)
+                points.add(p);
+        }
+        return points.toArray(new double[points.size()][]);
+    }
+    
+    /**
+     * Returns s clipped to the box, or null if it dominates none of the box 
+     */
+    static double[] clipToBox(Solution s, double[] lowerBounds, double[] upperBounds) {
+        double[] p = new double[lowerBounds.length];
+        for (int i=0; i<p.length; i++) {
+            if (s.getFitness(i) >= upperBounds[i])
+                return null;
+            p[i] = Math.max(s.getFitness(i), lowerBounds[i]);
+        }
+        return p;
+    }
+    
+    /**
+     * Returns the hypervolume weakly dominated by points and bounded by reference. All
+     * points must be strictly better than reference on every objective. The array 
+     * may be reordered.
+     */
+    static double hypervolume(double[][] points, double[] reference) {
+        return hypervolume(points, points.length, reference, reference.length);
+    }
+    
+    /**
+     * Returns the hypervolume dominated by the first n points, considering only their 
+     * first dimensions objectives
+     */
+    private static double hypervolume(double[][] points, int n, double[] reference, int dimensions) {
+        if (n == 0)
+            return 0.0;
+        if (n == 1)
+            return inclusiveHypervolume(points[0], reference, dimensions);
+        if (dimensions == 1) {
+            double best = reference[0];
+            for (int i=0; i<n; i++)
+                best = Math.min(best, points[i][0]);
+            return reference[0] - best;
+        }
+        if (dimensions == 2)
+            return hypervolume2D(points, n, reference);
+        if (dimensions == 3)
+            return hypervolume3D(points, n, reference);
+        return wfg(points, n, reference, dimensions);
+    }
+    
+    private static double inclusiveHypervolume(double[] p, double[] reference, int dimensions) {
+        double volume = 1.0;
+        for (int i=0; i<dimensions; i++)
+            volume *= reference[i] - p[i];
+        return volume;
+    }
+    
+    private static double hypervolume2D(double[][] points, int n, double[] reference) {
+        Arrays.sort(points, 0, n, Comparator.comparingDouble((double[] p) -> p[0]).thenComparingDouble(p -> p[1]));
+        double area = 0.0;
+        double height = reference[1];
+        for (int i=0; i<n; i++) 
+            if (points[i][1] < height) {
+                area += (reference[0] - points[i][0]) * (height - points[i][1]);
+                height = points[i][1];
+            }
+        return area;
+    }
+    
+    private static double hypervolume3D(double[][] points, int n, double[] reference) {
+        Arrays.sort(points, 0, n, Comparator.comparingDouble((double[] p) -> p[2]));
+        TwoDimensionalFront front = new TwoDimensionalFront(reference[0], reference[1]);
+        double volume = 0.0;
+        for (int i=0; i<n; i++) {
+            front.add(points[i][0], points[i][1]);
+            double nextZ = (i+1 < n) ? points[i+1][2] : reference[2];
+            volume += front.getArea() * (nextZ - points[i][2]);
+        }
+        return volume;
+    }
+    
+    /**
+     * Points are sorted worst first on the last objective, so the limit set of a point 
+     * (the points after it, each made no better than it) shares its last objective value, 
+     * and its exclusive hypervolume is a slab of the (dimensions-1) objective exclusive 
+     * hypervolume 
+     */
+    private static double wfg(double[][] points, int n, double[] reference, int dimensions) {
+        final int last = dimensions-1;
+        Arrays.sort(points, 0, n, Comparator.comparingDouble((double[] p) -> -p[last]));
+        double volume = 0.0;
+        double[][] limitSet = new double[n][];
+        for (int k=0; k<n; k++) {
+            double slab = reference[last] - points[k][last];
+            if (slab <= 0.0)
+                continue;
+            int limitSize = limitSet(points, k, n, reference, last, limitSet);
+            double exclusive = inclusiveHypervolume(points[k], reference, last) 
+                - hypervolume(limitSet, limitSize, reference, last);
+            volume += slab * exclusive;
+        }
+        return volume;
+    }
+    
+    /**
+     * Fills limitSet with the non-dominated, non-degenerate members of 
+     * { max(points[k], points[j]) : j > k } over the first dimensions objectives, 
+     * returning how many there are
+     */
+    private static int limitSet(double[][] points, int k, int n, double[] reference, int dimensions, double[][] limitSet) {
+        int size = 0;
+        candidates : for (int j=k+1; j<n; j++) {
+            double[] limit = new double[dimensions];
+            for (int i=0; i<dimensions; i++) {
+                limit[i] = Math.max(points[k][i], points[j][i]);
+                if (limit[i] >= reference[i])
+                    continue candidates; // bounds no volume
+            }
+            for (int m=0; m<size; m++) 
+                if (weaklyDominates(limitSet[m], limit, dimensions))
+                    continue candidates;
+            int kept = 0;
+            for (int m=0; m<size; m++) // drop members the new limit point dominates
+                if (!weaklyDominates(limit, limitSet[m], dimensions))
+                    limitSet[kept++] = limitSet[m];
+            size = kept;
+            limitSet[size++] = limit;
+        }
+        return size;
+    }
+    
+    private static boolean weaklyDominates(double[] a, double[] b, int dimensions) {
+        for (int i=0; i<dimensions; i++)
+            if (a[i] > b[i])
+                return false;
+        return true;
+    }
+}
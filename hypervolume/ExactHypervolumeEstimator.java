@@ -0,0 +1,170 @@
+package hypervolume;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * ExactHypervolumeEstimator computes the exact proportion of the box defined by 
+ * lowerBounds and upperBounds that is dominated by the Pareto set estimate, rather
+ * than estimating it by sampling, so it can be swapped in for the Monte Carlo 
+ * estimators (e.g. for validation, or final reporting). See ExactHypervolume for 
+ * the algorithms used. The hypervolume is only recalculated when the Pareto set
+ * estimate has changed since it was last calculated.
+ * 
+ * @author Jonathan Fieldsend 
+ * @version 17/10/2026
+ */
+public class ExactHypervolumeEstimator extends BasicHypervolumeEstimator
+{
+    boolean stale = false; // true if archive has changed since hypervolume last calculated
+    
+    /**
+     * Generates an instance of ExactHypervolumeEstimator to track the
+     * hypervolume for a numberOfObjectives dimensional problem, with the
+     * hypervolume calculated exactly, as a proportion of the box constrained 
+     * hyperrectangle defined in objective space by lowerBounds and upperBounds
+     * 
+     * Instance initially has instrumentation switched off.
+     * 
+     *  @param numberOfObjectives number of objectives
+     *  @param lowerBounds array of values of lower bound for objectives
+     *  @param upperBounds array of values of upper bound for objectives (the reference point)
+     *  @throws IllegalNumberOfObjectivesException if the length of a bounds array does 
+     *          not match the number of objectives, or if the number of objectives is 
+     *          less than 1 (see message in exception)
+     */
+    public ExactHypervolumeEstimator(int numberOfObjectives, double[] lowerBounds, double[] upperBounds)
+    throws IllegalNumberOfObjectivesException
+    {
+        super(numberOfObjectives,lowerBounds,upperBounds);
+    }
+    
+    /**
+     * Hypervolume is calculated exactly, so the number of samples is ignored
+     */
+    @Override
+    public void setNumberOfSamplesToComparePerIteration(int numberOfSamples) 
+    {
+    }
+    
+    /**
+     * Hypervolume is calculated exactly, so the time limit is ignored
+     */
+    @Override
+    public void setTimeLimit(long nanoseconds)
+    {
+    }
+
+    /**
+     * Hypervolume is calculated exactly, so any precision target is already met
+     */
+    @Override
+    public void setTargetPrecision(double halfWidth, double confidenceLevel)
+    {
+    }
+
+    /**
+     * Hypervolume is calculated exactly, so has no standard error
+     */
+    @Override
+    public double getStandardError()
+    {
+        return 0.0;
+    }
+
+    /**
+     * Hypervolume is calculated exactly, so the interval is the current value alone
+     */
+    @Override
+    public double[] getConfidenceInterval(double confidenceLevel)
+    {
+        return new double[]{hypervolume, hypervolume};
+    }
+
+    @Override
+    public boolean updateWithNewSolution(Solution s)
+    throws IllegalNumberOfObjectivesException
+    {
+        boolean improvement = super.updateWithNewSolution(s);
+        if (improvement)
+            stale = true;
+        return improvement;
+    }
+    
+    @Override
+    void discardHistory()
+    {
+        stale = true;
+    }
+    
+    @Override
+    public double getNewHypervolumeEstimate()
+    throws IllegalNumberOfObjectivesException
+    {
+        if (stale) {
+            hypervolume = ExactHypervolume.proportionOfBoxDominated(list.getContents(), lowerBounds, upperBounds);
+            stale = false;
+        }
+        return hypervolume;
+    }
+    
+    /**
+     * The improvement is calculated exactly, as the volume of the part of the box the
+     * candidate weakly dominates, less the hypervolume of the Pareto set estimate within
+     * that part
+     */
+    @Override
+    public double estimateImprovement(Solution candidate)
+    throws IllegalNumberOfObjectivesException
+    {
+        if (list.weaklyDominates(candidate))
+            return 0.0;
+        return improvement(candidate, list.getContents());
+    }
+
+    /**
+     * Returns the volume, as a fraction of the box, candidate weakly dominates which no
+     * member of others does
+     */
+    private double improvement(Solution candidate, Collection<? extends Solution> others)
+    {
+        double[] dominatedLowerBounds = ExactHypervolume.clipToBox(candidate, lowerBounds, upperBounds);
+        if (dominatedLowerBounds == null)
+            return 0.0; // dominates none of the box
+        double boxVolume = 1.0;
+        double dominatedVolume = 1.0;
+        for (int i=0; i<lowerBounds.length; i++) {
+            boxVolume *= upperBounds[i] - lowerBounds[i];
+            dominatedVolume *= upperBounds[i] - dominatedLowerBounds[i];
+        }
+        double[][] limited = ExactHypervolume.clipToBox(others, dominatedLowerBounds, upperBounds);
+        return (dominatedVolume - ExactHypervolume.hypervolume(limited, upperBounds))/boxVolume;
+    }
+
+    /**
+     * Contributions are calculated exactly, as the improvement each member makes to the
+     * rest of the Pareto set estimate, so the number of samples is ignored
+     */
+    @Override
+    public Map<Solution,Double> estimateContributions(int numberOfSamples)
+    {
+        IdentityHashMap<Solution,Double> contributions = new IdentityHashMap<>();
+        ArrayList<Solution> others = new ArrayList<>(list.getContents());
+        for (int m=others.size()-1; m>=0; m--) { // each member in turn swapped to the end, and left out
+            Collections.swap(others, m, others.size()-1);
+            Solution member = others.remove(others.size()-1);
+            contributions.put(member, improvement(member, others));
+            others.add(member);
+        }
+        return contributions;
+    }
+
+    @Override
+    public int getNumberOfSamplesUsedForCurrentEstimate()
+    {
+        return 0;
+    }
+}
@@ -0,0 +1,115 @@
+package hypervolume;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * The test class ExactHypervolumeEstimatorTest.
+ *
+ * Class provides tests for ExactHypervolumeEstimator class, comparing it to
+ * inclusion-exclusion on small sets.
+ *
+ * @author  Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class ExactHypervolumeEstimatorTest
+{
+    RandomSource rng;
+    /**
+     * Default constructor for test class ExactHypervolumeEstimatorTest
+     */
+    public ExactHypervolumeEstimatorTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp()
+    {
+        rng = RandomSource.sourceFactory(0L);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown()
+    {
+        rng = null;
+    }
+    
+    @Test(timeout=200000)
+    public void twoObjectiveTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        ExactHypervolumeEstimator estimator = new ExactHypervolumeEstimator(2, new double[]{0.0, 0.0}, new double[]{2.0, 2.0});
+        assertEquals(estimator.getNewHypervolumeEstimate(),0.0,0.0);
+        estimator.updateWithNewSolution(point(0.5, 1.5));
+        estimator.updateWithNewSolution(point(1.5, 0.5));
+        assertEquals(estimator.getNewHypervolumeEstimate(),0.3125,1e-12);
+        estimator.updateWithNewSolution(point(3.0, -1.0)); // outside box, dominates none of it
+        assertEquals(estimator.getNewHypervolumeEstimate(),0.3125,1e-12);
+        estimator.updateWithNewSolution(point(-1.0, 1.0)); // clipped to lower bound
+        assertEquals(estimator.getNewHypervolumeEstimate(),0.5625,1e-12);
+    }
+    
+    @Test(timeout=200000)
+    public void randomSetsTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        for (int m=2; m<=6; m++) {
+            double[] lowerBounds = new double[m];
+            double[] upperBounds = new double[m];
+            java.util.Arrays.fill(upperBounds, 1.0);
+            for (int repeat=0; repeat<20; repeat++) {
+                ExactHypervolumeEstimator estimator = new ExactHypervolumeEstimator(m, lowerBounds, upperBounds);
+                for (int i=0; i<9; i++)
+                    estimator.updateWithNewSolution(new MonteCarloSolution(lowerBounds, upperBounds, rng));
+                double[][] points = ExactHypervolume.clipToBox(estimator.getCurrentParetoSetEstimate().getContents(), lowerBounds, upperBounds);
+                assertEquals(estimator.getNewHypervolumeEstimate(),inclusionExclusion(points, upperBounds),1e-12);
+            }
+        }
+    }
+    
+    @Test(timeout=200000)
+    public void getNumberOfSamplesUsedForCurrentEstimateTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        ExactHypervolumeEstimator estimator = new ExactHypervolumeEstimator(2, new double[]{0.0, 0.0}, new double[]{2.0, 2.0});
+        estimator.setNumberOfSamplesToComparePerIteration(1000);
+        estimator.setTimeLimit(1000L);
+        assertEquals(estimator.getNumberOfSamplesUsedForCurrentEstimate(),0);
+    }
+    
+    private static Solution point(double x, double y) {
+        return new MonteCarloSolution(new double[]{x, y}, new double[]{x, y});
+    }
+    
+    /**
+     * Volume of union of boxes by inclusion-exclusion, with a unit reference box
+     */
+    private static double inclusionExclusion(double[][] points, double[] reference) {
+        double volume = 0.0;
+        for (int subset=1; subset < (1<<points.length); subset++) {
+            double[] corner = new double[reference.length];
+            for (int j=0; j<points.length; j++)
+                if ((subset & (1<<j)) != 0)
+                    for (int i=0; i<reference.length; i++)
+                        corner[i] = Math.max(corner[i], points[j][i]);
+            double box = 1.0;
+            for (int i=0; i<reference.length; i++)
+                box *= reference[i]-corner[i];
+            volume += (Integer.bitCount(subset)%2 == 1) ? box : -box;
+        }
+        return volume;
+    }
+}
@@ -20,8 +20,8 @@ public class ExampleGECCO
     {
         if (args.length<6) {
             System.out.println("Not enough input arguments, six arguments expected:\n"
-                    + " Hypervolume estimate update type (B, I, S OR D),\n" 
-                    + " Number of samples compared per new estimate (B, I and S), or max nanoseconds for new samples (D_)\n"
+                    + " Hypervolume estimate update type (B, I, S, T, D OR E),\n" 
+                    + " Number of samples compared per new estimate (B, I, S and T), or max nanoseconds for new samples (D_)\n"
                     + " number of iterations (minimum 0 applied),\n"
                     + " number of objectives (minumum 2 applied) and\n"
                     + " seed\n"
@@ -69,6 +69,15 @@ public class ExampleGECCO
             estimator = new EfficientIncrementalHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
             estimator.setNumberOfSamplesToComparePerIteration(numberOfSamplesOrTime);
             break;
+            case "T" :
+            t = HypeType.STRATIFIED;
+            estimator = new StratifiedHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            estimator.setNumberOfSamplesToComparePerIteration(numberOfSamplesOrTime);
+            break;
+            case "E" :
+            t = HypeType.EXACT;
+            estimator = new ExactHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            break;
             default :
             t = HypeType.DYNAMIC;
             estimator = new DynamicHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
@@ -90,7 +99,7 @@ public class ExampleGECCO
         
         int dim =  10+numberOfObjectives-1; // get the number of design dimensions depending on problem number
         OnePlusOneES optimiser = new OnePlusOneES(seed);
-        MonteCarloSolution.setRandomSeed((long) seed);
+        estimator.setRandomSeed((long) seed);
             
         optimiser.runOptimiser(numberOfObjectives,its,numberOfObjectives,estimator);
         estimator.writeOutHypervolume();
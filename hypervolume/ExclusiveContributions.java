@@ -0,0 +1,116 @@
+package hypervolume;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * ExclusiveContributions estimates, in a single Monte Carlo pass, the exclusive
+ * hypervolume contribution of every member of a Pareto set: the part of a box
+ * weakly dominated by that member alone, which would be lost were it removed.
+ *
+ * Samples are drawn from the part of the box below which no member lies (outside
+ * it nothing is dominated). Each sample dominated by the set is attributed by a
+ * scan of the members, held in a LinearParetoSetManager so the scan uses the
+ * dominance kernel and stops at the second member found, and a sample dominated
+ * by exactly one member counts toward that member.
+ *
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+final class ExclusiveContributions
+{
+    private ExclusiveContributions()
+    {
+    }
+
+    /**
+     * Returns the estimated contribution, as a fraction of the box defined by lowerBounds
+     * and upperBounds, of each member of list, keyed by identity, from numberOfSamples
+     * samples drawn from rng
+     */
+    static Map<Solution,Double> estimate(ParetoSetManager list, double[] lowerBounds, double[] upperBounds,
+        int numberOfSamples, RandomSource rng)
+    {
+        if (list instanceof LinearParetoSetManager)
+            return estimate(list, (LinearParetoSetManager) list, lowerBounds, upperBounds, numberOfSamples, rng);
+        try {
+            LinearParetoSetManager members = LinearParetoSetManager.managerFactory(lowerBounds.length);
+            members.replace(list);
+            return estimate(list, members, lowerBounds, upperBounds, numberOfSamples, rng);
+        } catch (IllegalNumberOfObjectivesException e) {
+            throw new IllegalStateException("Archive members should have the same number of objectives as the box", e);
+        }
+    }
+
+    /**
+     * As above, with samples attributed by a scan of members, which must hold the same
+     * solutions as list, so callers keeping a linear copy of the set need not have one
+     * made for each pass
+     */
+    static Map<Solution,Double> estimate(ParetoSetManager list, LinearParetoSetManager members, double[] lowerBounds,
+        double[] upperBounds, int numberOfSamples, RandomSource rng)
+    {
+        IdentityHashMap<Solution,Double> contributions = new IdentityHashMap<>();
+        IdentityHashMap<Solution,int[]> exclusive = new IdentityHashMap<>();
+        if (list.size() == 0)
+            return contributions;
+        for (Solution member : list.getContents()) {
+            contributions.put(member, 0.0);
+            exclusive.put(member, new int[1]);
+        }
+        double[] idealLowerBounds = upperBounds.clone();
+        for (Solution member : exclusive.keySet())
+            for (int i=0; i<idealLowerBounds.length; i++)
+                idealLowerBounds[i] = Math.min(idealLowerBounds[i], member.getFitness(i));
+        double volume = 1.0; // fraction of box samples are drawn from
+        for (int i=0; i<lowerBounds.length; i++) {
+            idealLowerBounds[i] = Math.max(idealLowerBounds[i], lowerBounds[i]);
+            if (idealLowerBounds[i] >= upperBounds[i])
+                return contributions; // no member dominates any of the box
+            volume *= (upperBounds[i]-idealLowerBounds[i])/(upperBounds[i]-lowerBounds[i]);
+        }
+        try {
+            int toGenerate = Math.max(1, numberOfSamples);
+            MonteCarloSolution point = new MonteCarloSolution(lowerBounds.length);
+            Solution[] dominators = new Solution[2];
+            for (int i=0; i<toGenerate; i++) {
+                point.resample(idealLowerBounds, upperBounds, rng);
+                if (list.weaklyDominates(point) && members.collectWeaklyDominating(point, dominators) == 1)
+                    exclusive.get(dominators[0])[0]++;
+            }
+            for (Solution member : exclusive.keySet())
+                contributions.put(member, volume*exclusive.get(member)[0]/toGenerate);
+        } catch (IllegalNumberOfObjectivesException e) {
+            throw new IllegalStateException("Samples and archive members should have the same number of objectives", e);
+        }
+        return contributions;
+    }
+
+    /**
+     * Returns the member of members with the smallest contribution, null if there are
+     * none. Ties, common as members dominating none of the box (or hit by no sample)
+     * contribute 0, go to preferred, if it is among the smallest, and otherwise to the
+     * first of the smallest in the order of members, so are broken the same way on
+     * every run, rather than by identity hash codes
+     *
+     * @param members members in the order ties are broken in
+     * @param contributions contribution of each member
+     * @param preferred member taken first among ties (e.g. an entrant), may be null
+     */
+    static Solution smallest(Collection<? extends Solution> members, Map<Solution,Double> contributions, Solution preferred)
+    {
+        Solution smallest = null;
+        double least = Double.POSITIVE_INFINITY;
+        for (Solution member : members) {
+            double contribution = contributions.get(member);
+            if (contribution < least) {
+                least = contribution;
+                smallest = member;
+            }
+        }
+        if (preferred != null && contributions.containsKey(preferred) && contributions.get(preferred) <= least)
+            return preferred;
+        return smallest;
+    }
+}
@@ -0,0 +1,97 @@
+package hypervolume;
+
+/**
+ * HaltonSequence generates the Halton low-discrepancy sequence, whose d-th coordinate 
+ * is the radical inverse of the point index in the d-th prime base. Digits are 
+ * scrambled with a random permutation for each digit position of each base, which
+ * breaks up the correlation between coordinates in the larger bases and makes the
+ * estimates unbiased. Any point of the sequence can be generated directly from its index.
+ * 
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class HaltonSequence implements SampleSequence
+{
+    private static final int[] PRIMES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47, 
+        53, 59, 61, 67, 71, 73, 79, 83, 89, 97, 101, 103, 107, 109, 113, 127, 131};
+    static final int MAX_DIMENSIONS = PRIMES.length;
+    
+    private final int[][][] permutations; // digit permutations, [dimension][digit position][digit]
+    private long index = 0; // index of next point
+    
+    /**
+     * Generates a scrambled Halton sequence in numberOfDimensions dimensions, with the 
+     * scrambling drawn from rng
+     * 
+     * @param numberOfDimensions dimension of points generated
+     * @param rng generator used to draw scrambling
+     * @throws IllegalNumberOfObjectivesException if numberOfDimensions is less than 1 or
+     * greater than MAX_DIMENSIONS
+     */
+    public HaltonSequence(int numberOfDimensions, RandomSource rng)
+    throws IllegalNumberOfObjectivesException
+    {
+        if (numberOfDimensions < 1 || numberOfDimensions > MAX_DIMENSIONS)
+            throw new IllegalNumberOfObjectivesException("Halton sequences are available for 1 to " 
+                + MAX_DIMENSIONS + " dimensions, not " + numberOfDimensions);
+        permutations = new int[numberOfDimensions][][];
+        for (int d=0; d<numberOfDimensions; d++) {
+            int base = PRIMES[d];
+            // enough digits that further ones fall below double precision
+            int digits = (int) Math.ceil(53 * Math.log(2) / Math.log(base));
+            permutations[d] = new int[digits][];
+            for (int j=0; j<digits; j++)
+                permutations[d][j] = randomPermutation(base, rng);
+        }
+    }
+    
+    private HaltonSequence(int[][][] permutations, long index)
+    {
+        this.permutations = permutations;
+        this.index = index;
+    }
+    
+    @Override
+    public void next(double[] point)
+    {
+        for (int d=0; d<permutations.length; d++) {
+            int base = PRIMES[d];
+            double factor = 1.0/base;
+            double value = 0.0;
+            long n = index;
+            for (int[] permutation : permutations[d]) {
+                value += permutation[(int) (n % base)] * factor;
+                n /= base;
+                factor /= base;
+            }
+            point[d] = Math.min(value, Math.nextDown(1.0)); // guard against rounding up to 1
+        }
+        index++;
+    }
+    
+    /**
+     * Returns a sequence positioned at the current point, and jumps this sequence 
+     * length points ahead
+     */
+    @Override
+    public SampleSequence split(long length)
+    {
+        SampleSequence block = new HaltonSequence(permutations, index);
+        index += length;
+        return block;
+    }
+    
+    private static int[] randomPermutation(int size, RandomSource rng)
+    {
+        int[] permutation = new int[size];
+        for (int i=0; i<size; i++)
+            permutation[i] = i;
+        for (int i=size-1; i>0; i--) { // Fisher-Yates shuffle
+            int j = (int) (rng.nextDouble() * (i+1));
+            int temp = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = temp;
+        }
+        return permutation;
+    }
+}
@@ -9,5 +9,5 @@ package hypervolume;
  */
 public enum HypeType
 {
-    BASIC, INCREMENTAL, INCREMENTAL_SINGLE, DYNAMIC;
+    BASIC, INCREMENTAL, INCREMENTAL_SINGLE, DYNAMIC, EXACT, STRATIFIED;
 }
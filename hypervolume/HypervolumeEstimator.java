@@ -3,6 +3,13 @@ package hypervolume;
 import java.lang.management.ThreadMXBean;
 import java.lang.management.ManagementFactory;
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -34,6 +41,20 @@ public interface HypervolumeEstimator
      */
     void setTimeLimit(long nanoseconds) throws UnsupportedOperationException;
     
+    /**
+     * Method reseeds the generator this estimator draws its Monte Carlo samples from. 
+     * Each estimator owns its generator, so reseeding one estimator does not affect 
+     * the samples drawn by any other
+     * 
+     * @param seed seed of generator
+     * @throws UnsupportedOperationException if the estimator does not draw from a 
+     * generator of its own
+     */
+    default void setRandomSeed(long seed) throws UnsupportedOperationException
+    {
+        throw new UnsupportedOperationException("Estimator does not support reseeding");
+    }
+    
     /**
      * Method updates the Pareto set estimate managed by the hypervolume
      * estimator with the solution s. Returns true if Pareto set changed 
@@ -46,6 +67,34 @@ public interface HypervolumeEstimator
      */
     boolean updateWithNewSolution(Solution s) throws IllegalNumberOfObjectivesException;
     
+    /**
+     * Method updates the Pareto set estimate managed by the hypervolume estimator
+     * with each member of solutions in turn (e.g. an offspring population). Returns 
+     * the members of solutions which are in the Pareto set estimate once the whole
+     * batch has been processed, i.e. those which entered and were not evicted by a 
+     * later member of the batch
+     * 
+     * @param solutions solutions to update Pareto archive estimate with
+     * @returns members of solutions in the Pareto set estimate after the update
+     * @throws IllegalNumberOfObjectivesException if number of objectives in a solution
+     * does not match that of solutions maintained in the archive
+     */
+    default List<Solution> updateWithNewSolutions(Collection<? extends Solution> solutions) 
+    throws IllegalNumberOfObjectivesException
+    {
+        ArrayList<Solution> survivors = new ArrayList<>();
+        long evictions = getCurrentParetoSetEstimate().getNumberOfEvictions();
+        for (Solution s : solutions)
+            if (updateWithNewSolution(s))
+                addSurvivor(survivors, s);
+        if (getCurrentParetoSetEstimate().getNumberOfEvictions() != evictions) { // some may have been truncated
+            Set<Solution> members = Collections.newSetFromMap(new IdentityHashMap<>());
+            members.addAll(getCurrentParetoSetEstimate().getContents());
+            survivors.removeIf(s -> !members.contains(s));
+        }
+        return survivors;
+    }
+    
     /**
      * Method updates the hypervolume calculation and returns it
      * 
@@ -111,9 +160,107 @@ public interface HypervolumeEstimator
      * @returns number of samples taken to generate estimate
      */
     int getNumberOfSamplesUsedForCurrentEstimate();
-    
+
+    /**
+     * Method sets a precision target: when estimating, sampling stops as soon as the
+     * confidence interval on the dominated fraction, at confidenceLevel, extends no more
+     * than halfWidth either side of the estimate. The number of samples per iteration,
+     * or time limit, still caps the sampling when the target cannot be met in time. A
+     * halfWidth of 0 removes the target, so the full budget is always drawn
+     *
+     * @param halfWidth maximum half width of interval at which sampling stops, 0 for no target
+     * @param confidenceLevel confidence level of interval (e.g. 0.95)
+     * @throws IllegalArgumentException if halfWidth is negative, or confidenceLevel is not
+     * strictly between 0 and 1
+     * @throws UnsupportedOperationException if the estimator cannot stop on a precision target
+     */
+    default void setTargetPrecision(double halfWidth, double confidenceLevel) 
+    throws IllegalArgumentException, UnsupportedOperationException
+    {
+        throw new UnsupportedOperationException("Estimator does not support precision targets");
+    }
+
+    /**
+     * Returns the standard error of the current estimate of the dominated fraction of
+     * the sampling box, NaN if no samples have been drawn
+     *
+     * @returns standard error of current estimate
+     */
+    default double getStandardError()
+    {
+        return PrecisionTarget.standardError(getCurrentHypervolumeEstimate(), getNumberOfSamplesUsedForCurrentEstimate());
+    }
+
+    /**
+     * Returns a confidence interval, {lower, upper}, on the dominated fraction of the
+     * sampling box given the samples of the current estimate (the Wilson score interval,
+     * which remains honest when nearly none or nearly all samples are dominated)
+     *
+     * @param confidenceLevel confidence level of interval (e.g. 0.95)
+     * @returns lower and upper limits of the interval
+     */
+    default double[] getConfidenceInterval(double confidenceLevel)
+    {
+        return PrecisionTarget.wilsonInterval(getCurrentHypervolumeEstimate(), getNumberOfSamplesUsedForCurrentEstimate(), confidenceLevel);
+    }
+
     /**
-     * Method returns true if the most recent solution passed into the estimator to be 
+     * Method estimates the hypervolume candidate would add to the current Pareto set
+     * estimate (as a fraction of the sampling box, as the hypervolume estimates are),
+     * without updating the estimate. A candidate weakly dominated by the estimate adds
+     * nothing
+     *
+     * @param candidate solution whose improvement is estimated
+     * @returns estimated hypervolume improvement of candidate
+     * @throws IllegalNumberOfObjectivesException if number of objectives in candidate
+     * does not match that of solutions maintained in the archive
+     * @throws UnsupportedOperationException if the estimator cannot estimate improvements
+     */
+    default double estimateImprovement(Solution candidate)
+    throws IllegalNumberOfObjectivesException, UnsupportedOperationException
+    {
+        throw new UnsupportedOperationException("Estimator does not support improvement queries");
+    }
+
+    /**
+     * Method estimates the hypervolume each member of candidates would add, on its own,
+     * to the current Pareto set estimate, without updating the estimate (see
+     * estimateImprovement)
+     *
+     * @param candidates solutions whose improvements are estimated
+     * @returns estimated hypervolume improvement of each candidate, in order
+     * @throws IllegalNumberOfObjectivesException if number of objectives in a candidate
+     * does not match that of solutions maintained in the archive
+     * @throws UnsupportedOperationException if the estimator cannot estimate improvements
+     */
+    default double[] estimateImprovements(List<? extends Solution> candidates)
+    throws IllegalNumberOfObjectivesException, UnsupportedOperationException
+    {
+        double[] improvements = new double[candidates.size()];
+        for (int i=0; i<improvements.length; i++)
+            improvements[i] = estimateImprovement(candidates.get(i));
+        return improvements;
+    }
+
+    /**
+     * Method estimates the exclusive hypervolume contribution of each member of the current
+     * Pareto set estimate: the hypervolume (as a fraction of the sampling box) weakly 
+     * dominated by that member alone, which would be lost were it removed. Estimates for 
+     * all members come from a single pass of numberOfSamples samples, each sample weakly 
+     * dominated by exactly one member counting toward that member's contribution
+     *
+     * @param numberOfSamples number of samples to draw
+     * @returns contribution of each member, keyed by identity (an IdentityHashMap)
+     * @throws UnsupportedOperationException if the estimator cannot estimate contributions
+     */
+    default Map<Solution,Double> estimateContributions(int numberOfSamples)
+    throws UnsupportedOperationException
+    {
+        throw new UnsupportedOperationException("Estimator does not support contribution estimates");
+    }
+
+    /**
+     * Method returns true if the most recent solution passed into the estimator to be
      * compared to and update the archive was not dominated
      * 
      * @returns true if the last update call was with a non-dominated solution, otherwise 
@@ -136,6 +283,18 @@ public interface HypervolumeEstimator
         return getNewHypervolumeEstimate();
     }
     
+    /**
+     * Adds s, which has just entered the archive, to survivors, removing those survivors
+     * it has evicted from the archive (those it weakly dominates)
+     * 
+     * @param survivors entrants which are still in the archive
+     * @param s new entrant to the archive
+     */
+    static void addSurvivor(List<Solution> survivors, Solution s) {
+        survivors.removeIf(s::weaklyDominates);
+        survivors.add(s);
+    }
+    
     /**
      * Get CPU time in nanoseconds. 
      * 
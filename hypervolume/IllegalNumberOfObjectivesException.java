@@ -16,4 +16,14 @@ public class IllegalNumberOfObjectivesException extends Exception
     public IllegalNumberOfObjectivesException(String message) {
         super(message);
     }
+    
+    /**
+     * Rethrows the IllegalNumberOfObjectivesException in the cause chain of e (such as
+     * one raised inside a fork/join task), if there is one
+     */
+    static void rethrowIfCause(RuntimeException e) throws IllegalNumberOfObjectivesException {
+        for (Throwable t = e; t != null; t = t.getCause()) 
+            if (t instanceof IllegalNumberOfObjectivesException)
+                throw (IllegalNumberOfObjectivesException) t;
+    }
 }
@@ -0,0 +1,151 @@
+package hypervolume;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+/**
+ * IncrementalExactHypervolumeEstimator maintains the exact dominated hypervolume of 
+ * a two or three objective Pareto set estimate as it is updated, rather than 
+ * recalculating it from scratch, so getNewHypervolumeEstimate costs effectively nothing.
+ * 
+ * With two objectives the front is kept in a balanced tree sorted on the first objective,
+ * and each archive insertion updates the dominated area in O(log n) amortised time (each
+ * member is evicted at most once). 
+ * 
+ * Logarithmic updates are only provided for two objectives. With three objectives a 
+ * single insertion can change the shape of the dominated region along all n members, 
+ * so the update is not logarithmic: the front is kept in a balanced tree sorted on the 
+ * last objective, and each insertion adds its exclusive contribution, found by sweeping
+ * the members below it on that objective through a two objective front of their 
+ * projections onto its box. This is O(k log k) for the k members swept, which stops as
+ * soon as the box is covered (up to O(n log n)), plus a scan of the members above it 
+ * for those it evicts. It still avoids the full recalculation, but on large three 
+ * objective fronts an update costs of the order of a tenth of a millisecond, not 
+ * microseconds.
+ * 
+ * @author Jonathan Fieldsend 
+ * @version 17/10/2026
+ */
+public class IncrementalExactHypervolumeEstimator extends ExactHypervolumeEstimator
+{
+    private TwoDimensionalFront front2D; // front view for two objectives
+    private TreeSet<double[]> front3D; // front view for three objectives, sorted on last objective
+    private TwoDimensionalFront slice; // scratch front swept through for three objective insertions
+    private double dominatedVolume = 0.0; // volume of box dominated by front view
+    private double boxVolume = 1.0;
+    private boolean frontStale = false; // true if members have been evicted, so front view must be rebuilt
+    
+    /**
+     * Generates an instance of IncrementalExactHypervolumeEstimator to track the
+     * hypervolume for a two or three objective problem, with the hypervolume 
+     * maintained exactly, as a proportion of the box constrained hyperrectangle 
+     * defined in objective space by lowerBounds and upperBounds
+     * 
+     * Instance initially has instrumentation switched off.
+     * 
+     *  @param numberOfObjectives number of objectives (2 or 3)
+     *  @param lowerBounds array of values of lower bound for objectives
+     *  @param upperBounds array of values of upper bound for objectives (the reference point)
+     *  @throws IllegalNumberOfObjectivesException if the length of a bounds array does 
+     *          not match the number of objectives, or if the number of objectives is 
+     *          not 2 or 3 (see message in exception)
+     */
+    public IncrementalExactHypervolumeEstimator(int numberOfObjectives, double[] lowerBounds, double[] upperBounds)
+    throws IllegalNumberOfObjectivesException
+    {
+        super(numberOfObjectives,lowerBounds,upperBounds);
+        if (numberOfObjectives == 2)
+            front2D = new TwoDimensionalFront(upperBounds[0], upperBounds[1]);
+        else if (numberOfObjectives == 3) {
+            front3D = new TreeSet<>(Comparator.comparingDouble((double[] p) -> p[2])
+                .thenComparingDouble(p -> p[0]).thenComparingDouble(p -> p[1]));
+            slice = new TwoDimensionalFront(upperBounds[0], upperBounds[1]);
+        } else
+            throw new IllegalNumberOfObjectivesException("Incremental exact hypervolume is only available for 2 or 3 objectives, not " 
+                + numberOfObjectives);
+        for (int i=0; i<numberOfObjectives; i++)
+            boxVolume *= upperBounds[i] - lowerBounds[i];
+    }
+    
+    @Override
+    public boolean updateWithNewSolution(Solution s)
+    throws IllegalNumberOfObjectivesException
+    {
+        boolean improvement = super.updateWithNewSolution(s);
+        if (improvement && !frontStale) {
+            double[] p = ExactHypervolume.clipToBox(s, lowerBounds, upperBounds);
+            if (p != null) { // only members inside the box change the volume
+                if (front2D != null) 
+                    dominatedVolume += front2D.add(p[0], p[1]);
+                else
+                    dominatedVolume += addToFront3D(p);
+            }
+        }
+        return improvement;
+    }
+    
+    /**
+     * The front view only grows, so after an eviction it is rebuilt from the Pareto set
+     * estimate on the next estimate
+     */
+    @Override
+    void discardHistory()
+    {
+        frontStale = true;
+    }
+    
+    @Override
+    public double getNewHypervolumeEstimate()
+    {
+        if (frontStale) {
+            if (front2D != null)
+                front2D = new TwoDimensionalFront(upperBounds[0], upperBounds[1]);
+            else
+                front3D.clear();
+            dominatedVolume = 0.0;
+            frontStale = false;
+            for (Solution s : list.getContents()) {
+                double[] p = ExactHypervolume.clipToBox(s, lowerBounds, upperBounds);
+                if (p != null)
+                    dominatedVolume += (front2D != null) ? front2D.add(p[0], p[1]) : addToFront3D(p);
+            }
+        }
+        hypervolume = (boxVolume > 0.0) ? dominatedVolume/boxVolume : 0.0;
+        return hypervolume;
+    }
+    
+    /**
+     * Adds p to the three objective front, evicting members it weakly dominates, and
+     * returns the volume it adds. The volume added is the volume of p's box that 
+     * is not dominated by the limit set { max(p,q) : q in front }, found by sweeping 
+     * up the last objective while maintaining the two objective front of the limit set
+     */
+    private double addToFront3D(double[] p) {
+        double boxArea = (upperBounds[0] - p[0]) * (upperBounds[1] - p[1]);
+        slice.clear();
+        double added = 0.0;
+        double z = p[2];
+        for (double[] q : front3D) {
+            double limitZ = Math.max(q[2], p[2]);
+            if (limitZ > z) {
+                added += (boxArea - slice.getArea()) * (limitZ - z);
+                z = limitZ;
+            }
+            slice.add(Math.max(q[0], p[0]), Math.max(q[1], p[1]));
+            if (slice.getArea() >= boxArea) // rest of p's box is dominated
+                break;
+        }
+        added += Math.max(0.0, boxArea - slice.getArea()) * (upperBounds[2] - z);
+        if (added <= 0.0)
+            return 0.0; // p's box is already covered, so the union of boxes is unchanged
+        Iterator<double[]> itr = front3D.tailSet(p, true).iterator(); // members dominated are no better on last objective
+        while (itr.hasNext()) {
+            double[] q = itr.next();
+            if (p[0] <= q[0] && p[1] <= q[1])
+                itr.remove();
+        }
+        front3D.add(p);
+        return added;
+    }
+}
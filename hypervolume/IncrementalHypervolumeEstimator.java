@@ -1,7 +1,8 @@
 package hypervolume;
 
 import java.util.ArrayList;
-import java.util.Iterator; 
+import java.util.Collections;
+import java.util.List;
 
 /**
  * IncrementalHypervolumeEstimator uses past history to incrementally
@@ -12,7 +13,8 @@ import java.util.Iterator;
  */
 public class IncrementalHypervolumeEstimator extends BasicHypervolumeEstimator
 {
-    ArrayList<Solution> nondominatedSamples; // track which samples not yet dominated
+    SamplePool nondominatedSamples; // track which samples not yet dominated
+    private int sortedObjective = -1; // objective samples are kept sorted on, -1 if unsorted
     int hypervolumeSamplesDominated = 0; // track how many samples made over time 
     /**
      * Generates an instance of a IncrementalHypervolumeEstimator to track the
@@ -35,7 +37,48 @@ public class IncrementalHypervolumeEstimator extends BasicHypervolumeEstimator
     {
         super(numberOfObjectives,lowerBounds,upperBounds);
     }
+    
+    /**
+     * Generates an instance of a IncrementalHypervolumeEstimator as above, with sample points 
+     * generated as determined by samplingMode. Low-discrepancy sequences are continued
+     * across calls, so the history of samples remains a prefix of a single sequence.
+     * 
+     *  @param numberOfObjectives number of objectives
+     *  @param lowerBounds array of values of lower bound for objectives for MC sampling
+     *  @param upperBounds array of values of upper bound for objectives for MC sampling
+     *  @param samplingMode how sample points are generated
+     *  @throws IllegalNumberOfObjectivesException if the length of a bounds array does 
+     *          not match the number of objectives, if the number of objectives is 
+     *          less than 1, or if the sampling mode does not support the number of 
+     *          objectives (see message in exception)
+     */
+    public IncrementalHypervolumeEstimator(int numberOfObjectives, double[] lowerBounds, double[] upperBounds, SamplingMode samplingMode)
+    throws IllegalNumberOfObjectivesException
+    {
+        super(numberOfObjectives,lowerBounds,upperBounds,samplingMode);
+    }
 
+    /**
+     * Sets an objective the samples not yet dominated are to be kept sorted on, or 
+     * -1 if they are not to be kept sorted. When sorted, comparing a solution to 
+     * the samples skips, by binary search, all samples with a value on the objective
+     * smaller than the solution's (as it cannot dominate them), so solutions near the
+     * top of the sampling box on the objective are only compared to few samples. 
+     * Rescans are then sequential, even if parallelism has been set.
+     * 
+     * @param objective objective samples are kept sorted on, -1 if unsorted
+     * @throws IllegalArgumentException if objective is not -1 or the index of an objective
+     */
+    public void setSortedObjective(int objective)
+    throws IllegalArgumentException
+    {
+        if (objective < -1 || objective >= lowerBounds.length)
+            throw new IllegalArgumentException("Cannot sort on objective " + objective + " of a " + lowerBounds.length + " objective problem");
+        sortedObjective = objective;
+        if (nondominatedSamples != null)
+            configurePool(nondominatedSamples);
+    }
+    
     /**
      * Uses past dominated history and list of non-dominated samples to incrementally
      * improve fidelity of hypervolume estimate over time
@@ -49,10 +92,9 @@ public class IncrementalHypervolumeEstimator extends BasicHypervolumeEstimator
         
         int toGenerate = Math.max(0,numberOfSamples-nondominatedSamples.size()); // calculate beforehand, as list may change
         int h = compareToStoredList();
-        h += generateNewMCSamples(toGenerate); // now generate new MC samples up to limit
-        hypervolume = (1/((double) numberOfSamples + hypervolumeSamplesDominated)) * (hypervolumeSamplesDominated + h);
+        h += generateNewMCSamples(toGenerate,h); // now generate new MC samples up to limit
         hypervolumeSamplesDominated += h;
-        return hypervolume;
+        return updateEstimateFromHistory();
     }
     
     @Override
@@ -69,9 +111,88 @@ public class IncrementalHypervolumeEstimator extends BasicHypervolumeEstimator
     @Override
     public int getNumberOfSamplesUsedForCurrentEstimate()
     {
-        return hypervolumeSamplesDominated + numberOfSamples;
+        return numberOfSamplesUsed;
+    }
+    
+    /**
+     * Samples only an evicted member dominated are no longer dominated, so the history
+     * is dropped, and the next estimate is made from fresh samples as on the first call
+     */
+    @Override
+    void discardHistory()
+    {
+        nondominatedSamples = null;
+        hypervolumeSamplesDominated = 0;
+    }
+    
+    /**
+     * Sets the estimate from all the samples drawn so far: those dominated in the
+     * history, and those still in the pool
+     */
+    double updateEstimateFromHistory()
+    {
+        numberOfSamplesUsed = hypervolumeSamplesDominated + nondominatedSamples.size();
+        hypervolume = hypervolumeSamplesDominated/(double) numberOfSamplesUsed;
+        return hypervolume;
+    }
+    
+    
+    /**
+     * Once an estimate has been made, the improvement is estimated from the samples
+     * retained as not dominated, as the fraction of all samples drawn which the candidate
+     * weakly dominates and which are not dominated by the current Pareto set estimate 
+     * (those dominated by entrants since the last estimate are excluded). Before the 
+     * first estimate fresh samples are drawn (see BasicHypervolumeEstimator)
+     */
+    @Override
+    public double estimateImprovement(Solution candidate)
+    throws IllegalNumberOfObjectivesException
+    {
+        return estimateImprovements(Collections.singletonList(candidate))[0];
     }
     
+    /**
+     * The candidates are compared to the retained samples in a single pass, run in 
+     * parallel if parallelism has been set
+     */
+    @Override
+    public double[] estimateImprovements(List<? extends Solution> candidates)
+    throws IllegalNumberOfObjectivesException
+    {
+        if (nondominatedSamples == null) { // no history yet
+            double[] improvements = new double[candidates.size()];
+            for (int i=0; i<improvements.length; i++)
+                improvements[i] = super.estimateImprovement(candidates.get(i));
+            return improvements;
+        }
+        ArrayList<Solution> undominated = new ArrayList<>(candidates.size());
+        for (Solution c : candidates)
+            if (!list.weaklyDominates(c)) // also checks number of objectives
+                undominated.add(c);
+        int[] counts;
+        try {
+            counts = nondominatedSamples.countWeaklyDominatedBy(undominated, entrantsNotYetCompared(), list, forkJoinPool, numberOfWorkers);
+        } catch (RuntimeException e) {
+            IllegalNumberOfObjectivesException.rethrowIfCause(e);
+            throw e;
+        }
+        double numberOfSamplesDrawn = hypervolumeSamplesDominated + nondominatedSamples.size();
+        double[] improvements = new double[candidates.size()];
+        for (int i=0, j=0; i<improvements.length && j<counts.length; i++)
+            if (candidates.get(i) == undominated.get(j))
+                improvements[i] = counts[j++]/numberOfSamplesDrawn;
+        return improvements;
+    }
+    
+    /**
+     * Returns the entrants to the Pareto set estimate which the retained samples have not
+     * yet been compared to, or null if they are not tracked (in which case samples are 
+     * compared to the whole Pareto set estimate to find those now dominated)
+     */
+    List<? extends Solution> entrantsNotYetCompared()
+    {
+        return null;
+    }
     
     /**
      * Compares the previously non-dominated solutions to the current
@@ -81,51 +202,68 @@ public class IncrementalHypervolumeEstimator extends BasicHypervolumeEstimator
     private int compareToStoredList() 
     throws IllegalNumberOfObjectivesException
     {
-        int numberDominated = 0;
-        // first iterate over samples which haven't been dominated in pervious iterations
-        Iterator<Solution> itr = nondominatedSamples.iterator();
-        while (itr.hasNext()) {
-            Solution s  = itr.next();
-            if (list.weaklyDominates(s)){ 
-                numberDominated++;
-                itr.remove();
-            }
-        }
-        return numberDominated;
+        // iterate over samples which haven't been dominated in pervious iterations
+        return nondominatedSamples.removeWeaklyDominatedBy(list, forkJoinPool, numberOfWorkers);
     }
     
     /**
      * Generates toGenerate number Monte Carlo samples, and returns the
      * number dominated (with those not dominated added to the list of samples
-     * nont dominated)
+     * nont dominated). Stops early if a precision target is met, counting 
+     * alreadyDominated samples dominated this iteration but not yet added to 
+     * the history
      */
-    int generateNewMCSamples(int toGenerate) 
+    int generateNewMCSamples(int toGenerate, int alreadyDominated) 
     throws IllegalNumberOfObjectivesException
     {
         int numberDominated = 0;
         for (int i=0; i<toGenerate; i++){
-            MonteCarloSolution s = new MonteCarloSolution(lowerBounds, upperBounds);
-            if (list.weaklyDominates(s)){
+            if (i % PrecisionTarget.CHECK_INTERVAL == 0 && precisionTarget != null) {
+                int dominated = hypervolumeSamplesDominated + alreadyDominated + numberDominated;
+                if (isPrecise(dominated, dominated + nondominatedSamples.size()))
+                    break;
+            }
+            sample.resample(lowerBounds, upperBounds, sequence);
+            if (list.weaklyDominates(sample)){
                 numberDominated++;
             } else {
-                nondominatedSamples.add(s); // record non-dominated
+                nondominatedSamples.add(sample); // record non-dominated, copying values into pool
             }
         }
         return numberDominated;
     }
     
     
+    /**
+     * Returns a new, empty, pool for the samples not yet dominated, with initial room 
+     * for initialCapacity samples
+     */
+    SamplePool createSamplePool(int initialCapacity)
+    {
+        SamplePool pool = new SamplePool(lowerBounds.length, initialCapacity);
+        configurePool(pool);
+        return pool;
+    }
+    
+    /**
+     * Sets up pool to be kept sorted (or not) as currently requested
+     */
+    void configurePool(SamplePool pool)
+    {
+        if (pool.isIndexed() || pool.getSortObjective() != sortedObjective)
+            pool.sortOn(sortedObjective);
+    }
+    
     /**
      * Calculates hypervolume on first occasion
      */
     double updateFirstTime()
     throws IllegalNumberOfObjectivesException
     {
-        nondominatedSamples = new ArrayList<>(numberOfSamples); // initial max list length is simply number of samples in an iteration
-        int h = generateNewMCSamples(numberOfSamples);
-        hypervolumeSamplesDominated = h;
-        hypervolume = h/(double) numberOfSamples;    
-        return hypervolume;
+        nondominatedSamples = createSamplePool(numberOfSamples); // initial max pool length is simply number of samples in an iteration
+        hypervolumeSamplesDominated = 0; // no history yet
+        hypervolumeSamplesDominated += generateNewMCSamples(numberOfSamples,0);
+        return updateEstimateFromHistory();
     }
 
 }
@@ -0,0 +1,151 @@
+package hypervolume;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+/**
+ * LinearParetoSetManager holds the Pareto set as a flat list, with no index. 
+ * Objective values are held in tiles of 64 members, each tile storing its members'
+ * values objective by objective, and a scan tests a whole tile at a time with a 
+ * DominanceKernel (vectorised where the jdk.incubator.vector module is present),
+ * which returns a bit mask of the members of the tile passing the test. Every 
+ * member is visited, but each visit is cheap and branch-free, so for small sets, 
+ * or many objectives (where trees prune little), the scan can beat the tree based
+ * managers.
+ * 
+ * Queries do not touch any shared scratch state, so may be run concurrently with 
+ * each other.
+ * 
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class LinearParetoSetManager implements ParetoSetManager
+{
+    public final int NUMBER_OF_OBJECTIVES; // number of objectives of solutions being managed
+    private static final int TILE = DominanceKernel.TILE;
+    private static final DominanceKernel KERNEL = DominanceKernel.kernelFactory();
+    private double[] tiles; // objective values of members, in tiles (see DominanceKernel)
+    private Solution[] members;
+    private int size = 0;
+    
+    LinearParetoSetManager(int numberOfObjectives) {
+        NUMBER_OF_OBJECTIVES = numberOfObjectives;
+        tiles = new double[TILE*numberOfObjectives];
+        members = new Solution[TILE];
+    }
+    
+    @Override
+    public boolean add(Solution s) throws IllegalNumberOfObjectivesException
+    {
+        if (weaklyDominates(s))
+            return false;
+        // not dominated, so need to remove any and all current members than are dominated
+        for (int from=0; from<size; ) {
+            long dominated = KERNEL.weaklyDominatedMask(tiles, from*NUMBER_OF_OBJECTIVES, NUMBER_OF_OBJECTIVES, s)
+                & DominanceKernel.lanes(size-from);
+            if (dominated == 0L) {
+                from += TILE;
+                continue;
+            }
+            while (dominated != 0L) { // remove from highest, so lower members of tile unaffected
+                int m = from + 63 - Long.numberOfLeadingZeros(dominated);
+                dominated &= ~(1L << (m-from));
+                remove(m);
+            }
+            // tile rescanned, as removals move members from later tiles into it
+        }
+        if (size == members.length) {
+            members = Arrays.copyOf(members, 2*size);
+            tiles = Arrays.copyOf(tiles, 2*size*NUMBER_OF_OBJECTIVES);
+        }
+        for (int i=0; i<NUMBER_OF_OBJECTIVES; i++)
+            tiles[DominanceKernel.slot(size,i,NUMBER_OF_OBJECTIVES)] = s.getFitness(i);
+        members[size++] = s;
+        return true;
+    }
+    
+    /**
+     * Removes member m, moving the last member into its place
+     */
+    private void remove(int m) {
+        size--;
+        for (int i=0; i<NUMBER_OF_OBJECTIVES; i++)
+            tiles[DominanceKernel.slot(m,i,NUMBER_OF_OBJECTIVES)] = tiles[DominanceKernel.slot(size,i,NUMBER_OF_OBJECTIVES)];
+        members[m] = members[size];
+        members[size] = null;
+    }
+    
+    @Override
+    public boolean remove(Solution s) {
+        for (int m=0; m<size; m++) {
+            if (members[m] == s) {
+                remove(m);
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    public boolean weaklyDominates(Solution s) throws IllegalNumberOfObjectivesException
+    {
+        if (s.getNumberOfObjectives()!=NUMBER_OF_OBJECTIVES)
+            throw new IllegalNumberOfObjectivesException("Manager set up for " + NUMBER_OF_OBJECTIVES 
+                + " objectives, however solution added has "+ s.getNumberOfObjectives());
+        for (int from=0; from<size; from+=TILE)
+            if ((KERNEL.weaklyDominatingMask(tiles, from*NUMBER_OF_OBJECTIVES, NUMBER_OF_OBJECTIVES, s) 
+                & DominanceKernel.lanes(size-from)) != 0L)
+                return true;
+        return false;
+    }
+    
+    @Override
+    public int collectWeaklyDominating(Solution s, Solution[] dominators) throws IllegalNumberOfObjectivesException
+    {
+        if (s.getNumberOfObjectives()!=NUMBER_OF_OBJECTIVES)
+            throw new IllegalNumberOfObjectivesException("Manager set up for " + NUMBER_OF_OBJECTIVES 
+                + " objectives, however solution added has "+ s.getNumberOfObjectives());
+        int found = 0;
+        for (int from=0; from<size && found<dominators.length; from+=TILE) {
+            long dominating = KERNEL.weaklyDominatingMask(tiles, from*NUMBER_OF_OBJECTIVES, NUMBER_OF_OBJECTIVES, s) 
+                & DominanceKernel.lanes(size-from);
+            for (; dominating != 0L && found<dominators.length; dominating &= dominating-1)
+                dominators[found++] = members[from + Long.numberOfTrailingZeros(dominating)];
+        }
+        return found;
+    }
+    
+    @Override
+    public Collection<? extends Solution> getContents() {
+        ArrayList<Solution> contents = new ArrayList<>(size);
+        for (int m=0; m<size; m++)
+            contents.add(members[m]);
+        return contents;
+    }
+    
+    @Override
+    public Solution getRandomMember() throws UnsupportedOperationException
+    {
+        throw new UnsupportedOperationException();
+    }
+    
+    public static LinearParetoSetManager managerFactory(int numberOfObjectives) {
+        return new LinearParetoSetManager(numberOfObjectives);
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public void clean() {
+        Arrays.fill(members, 0, size, null);
+        size = 0;
+    }
+    
+    @Override
+    public String toString() {
+        return "Members :" + getContents();
+    }
+}
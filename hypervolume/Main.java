@@ -686,6 +686,11 @@ public class Main
             return objectives.length;
         }
 
+        @Override
+        public double[] getFitnessView(){
+            return objectives;
+        }
+
         /**
          * Equal if fitness the same
          */
@@ -12,7 +12,7 @@ import java.util.Random;
 public class MonteCarloSolution implements Solution
 {
     private double[] fitnesses;
-    private static Random rng = new Random(0L);
+    private static Random rng = new Random(0L); // only used by the two argument constructor
 
     /**
      * MonteCarloSolution implements the Solution class to represent a random
@@ -28,6 +28,46 @@ public class MonteCarloSolution implements Solution
             fitnesses[i] = lowerBounds[i] + rng.nextDouble()*(upperBounds[i] - lowerBounds[i]);
     }
     
+    /**
+     * MonteCarloSolution implements the Solution class to represent a random
+     * Monte Carlo sample in objective space, drawn from the generator argument 
+     * rather than the shared static generator. Assumes minimisation.
+     * 
+     *  @param lowerBounds array of values of lower bound for objectives for MC sampling
+     *  @param upperBounds array of values of upper bound for objectives for MC sampling
+     *  @param rng generator to draw the sample from
+     */
+    public MonteCarloSolution(double[] lowerBounds, double[] upperBounds, RandomSource rng)
+    {
+        fitnesses = new double[ lowerBounds.length ];
+        resample(lowerBounds, upperBounds, rng);
+    }
+    
+    /**
+     * Generates a MonteCarloSolution with all objective values zero, to be used as a 
+     * reusable scratch vector which is filled by calls to resample
+     * 
+     *  @param numberOfObjectives number of objectives
+     */
+    MonteCarloSolution(int numberOfObjectives)
+    {
+        fitnesses = new double[ numberOfObjectives ];
+    }
+    
+    /**
+     * Redraws this sample in place, uniformly from the box constrained hyperrectangle 
+     * defined by lowerBounds and upperBounds, without allocating
+     * 
+     *  @param lowerBounds array of values of lower bound for objectives for MC sampling
+     *  @param upperBounds array of values of upper bound for objectives for MC sampling
+     *  @param rng generator to draw the sample from
+     */
+    void resample(double[] lowerBounds, double[] upperBounds, RandomSource rng)
+    {
+        for (int i=0; i<lowerBounds.length; i++)
+            fitnesses[i] = lowerBounds[i] + rng.nextDouble()*(upperBounds[i] - lowerBounds[i]);
+    }
+    
     public double getFitness(int index) 
     {
         return fitnesses[index];
@@ -48,6 +88,31 @@ public class MonteCarloSolution implements Solution
         return fitnesses.length;
     }
     
+    @Override
+    public double[] getFitnessView()
+    {
+        return fitnesses;
+    }
+    
+    /**
+     * Redraws this sample in place as the next point of sequence, mapped onto the box 
+     * constrained hyperrectangle defined by lowerBounds and upperBounds, without allocating
+     * 
+     *  @param lowerBounds array of values of lower bound for objectives for MC sampling
+     *  @param upperBounds array of values of upper bound for objectives for MC sampling
+     *  @param sequence sequence to take the sample from
+     */
+    void resample(double[] lowerBounds, double[] upperBounds, SampleSequence sequence)
+    {
+        sequence.next(fitnesses);
+        for (int i=0; i<lowerBounds.length; i++)
+            fitnesses[i] = lowerBounds[i] + fitnesses[i]*(upperBounds[i] - lowerBounds[i]);
+    }
+    
+    /**
+     * Reseeds the shared generator used by the two argument constructor. Estimators
+     * draw from their own RandomSource, see HypervolumeEstimator.setRandomSeed
+     */
     public static void setRandomSeed(long seed) 
     {
         rng = new Random(seed);
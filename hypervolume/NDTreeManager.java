@@ -0,0 +1,315 @@
+package hypervolume;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+/**
+ * NDTreeManager class implements the ND-Tree of
+ *
+ * Andrzej Jaszkiewicz and Thibaut Lust. 2018.
+ * ND-Tree-Based Update: A Fast Algorithm for the Dynamic Nondominance Problem.
+ * IEEE Transactions on Evolutionary Computation 22(5), 778–791
+ *
+ * Members are held in leaves of bounded size, and every node records the ideal
+ * (per-objective minimum) and nadir (per-objective maximum) points of the members
+ * below it. A query is weakly dominated by every member of a node whose nadir
+ * weakly dominates it, and by no member of a node whose ideal does not, so whole
+ * subtrees are resolved without visiting their members. New members descend to the
+ * child whose bounding box midpoint is nearest, and full leaves are split into
+ * M+1 children around well-separated seed members.
+ *
+ * Queries do not touch any shared scratch state, so may be run concurrently with
+ * each other.
+ *
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class NDTreeManager implements ParetoSetManager
+{
+    public final int NUMBER_OF_OBJECTIVES; // number of objectives of solutions being managed
+    static final int MAX_LEAF_SIZE = 20;
+    private final int numberOfChildren; // number of children a full leaf is split into
+    private Node root;
+    private int size = 0;
+
+    NDTreeManager(int numberOfObjectives) {
+        NUMBER_OF_OBJECTIVES = numberOfObjectives;
+        numberOfChildren = numberOfObjectives+1;
+    }
+
+    @Override
+    public boolean add(Solution s) throws IllegalNumberOfObjectivesException
+    {
+        if (weaklyDominates(s))
+            return false;
+        // not dominated, so need to remove any and all current members than are dominated
+        if (root != null) {
+            size -= removeDominated(root,s);
+            if (root.isEmpty())
+                root = null;
+        }
+        if (root == null)
+            root = new Node(s);
+        else
+            insert(root,s);
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean weaklyDominates(Solution s) throws IllegalNumberOfObjectivesException
+    {
+        if (s.getNumberOfObjectives()!=NUMBER_OF_OBJECTIVES)
+            throw new IllegalNumberOfObjectivesException("Manager set up for " + NUMBER_OF_OBJECTIVES
+                + " objectives, however solution added has "+ s.getNumberOfObjectives());
+        return (root != null) && detectDomination(root,s);
+    }
+
+    private boolean detectDomination(Node node, Solution s) {
+        if (!Solution.weaklyDominates(node.ideal,s))
+            return false; // no member below can weakly dominate s
+        if (Solution.weaklyDominates(node.nadir,s))
+            return true; // every member below weakly dominates s
+        if (node.isLeaf()) {
+            for (Solution member : node.members)
+                if (member.weaklyDominates(s))
+                    return true;
+            return false;
+        }
+        for (Node child : node.children)
+            if (detectDomination(child,s))
+                return true;
+        return false;
+    }
+
+    /**
+     * Removes the members below node weakly dominated by s, returning the number 
+     * removed. Emptied children are dropped, and the bounds of nodes which lose 
+     * members recomputed
+     */
+    private int removeDominated(Node node, Solution s) {
+        if (!Solution.weaklyDominates(s,node.nadir))
+            return 0; // s cannot weakly dominate any member below
+        if (Solution.weaklyDominates(s,node.ideal)) { // s weakly dominates every member below
+            int removed = count(node);
+            node.clear();
+            return removed;
+        }
+        int removed = 0;
+        if (node.isLeaf()) {
+            int before = node.members.size();
+            node.members.removeIf(s::weaklyDominates);
+            removed = before - node.members.size();
+        } else {
+            for (int i=node.children.size()-1; i>=0; i--) {
+                removed += removeDominated(node.children.get(i),s);
+                if (node.children.get(i).isEmpty())
+                    node.children.remove(i);
+            }
+        }
+        if (removed > 0 && !node.isEmpty())
+            node.recomputeBounds();
+        return removed;
+    }
+
+    /**
+     * Returns the number of members below node
+     */
+    private int count(Node node) {
+        if (node.isLeaf())
+            return node.members.size();
+        int count = 0;
+        for (Node child : node.children)
+            count += count(child);
+        return count;
+    }
+
+    private void insert(Node node, Solution s) {
+        while (true) {
+            node.include(s);
+            if (node.isLeaf()) {
+                node.members.add(s);
+                if (node.members.size() > MAX_LEAF_SIZE)
+                    split(node);
+                return;
+            }
+            Node closest = null;
+            double closestDistance = Double.POSITIVE_INFINITY;
+            for (Node child : node.children) {
+                double distance = child.distanceToMidpoint(s);
+                if (distance < closestDistance) {
+                    closestDistance = distance;
+                    closest = child;
+                }
+            }
+            node = closest;
+        }
+    }
+
+    /**
+     * Splits the members of a full leaf between new children: seeds are chosen as
+     * the member furthest on average from the others, then repeatedly the member
+     * furthest on average from the seeds, with the remaining members each added
+     * to the child with nearest midpoint
+     */
+    private void split(Node leaf) {
+        List<Solution> members = leaf.members;
+        int n = members.size();
+        boolean[] seeded = new boolean[n];
+        double[] distanceSum = new double[n]; // distance to seeds so far, or to all members for first seed
+        for (int i=0; i<n; i++)
+            for (int j=0; j<n; j++)
+                distanceSum[i] += distance(members.get(i),members.get(j));
+        leaf.children = new ArrayList<>(numberOfChildren);
+        for (int c=0; c<Math.min(numberOfChildren,n); c++) {
+            int seed = -1;
+            for (int i=0; i<n; i++)
+                if (!seeded[i] && (seed < 0 || distanceSum[i] > distanceSum[seed]))
+                    seed = i;
+            if (c == 0)
+                Arrays.fill(distanceSum, 0.0);
+            seeded[seed] = true;
+            leaf.children.add(new Node(members.get(seed)));
+            for (int i=0; i<n; i++)
+                distanceSum[i] += distance(members.get(i),members.get(seed));
+        }
+        for (int i=0; i<n; i++) {
+            if (seeded[i])
+                continue;
+            Solution s = members.get(i);
+            Node closest = leaf.children.get(0);
+            for (Node child : leaf.children)
+                if (child.distanceToMidpoint(s) < closest.distanceToMidpoint(s))
+                    closest = child;
+            closest.include(s);
+            closest.members.add(s);
+        }
+        leaf.members = null;
+    }
+
+    private double distance(Solution a, Solution b) {
+        double sum = 0.0;
+        for (int i=0; i<NUMBER_OF_OBJECTIVES; i++) {
+            double d = a.getFitness(i)-b.getFitness(i);
+            sum += d*d;
+        }
+        return Math.sqrt(sum);
+    }
+
+    @Override
+    public Collection<? extends Solution> getContents() {
+        ArrayList<Solution> contents = new ArrayList<>(size);
+        if (root != null)
+            extract(root,contents);
+        return contents;
+    }
+
+    private void extract(Node node, List<Solution> contents) {
+        if (node.isLeaf())
+            contents.addAll(node.members);
+        else
+            for (Node child : node.children)
+                extract(child,contents);
+    }
+
+    @Override
+    public Solution getRandomMember() throws UnsupportedOperationException
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    public static NDTreeManager managerFactory(int numberOfObjectives) {
+        return new NDTreeManager(numberOfObjectives);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clean() {
+        root = null;
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Members :" + getContents();
+    }
+
+    /**
+     * Node of the tree; a leaf holds members, an internal node children
+     */
+    private static class Node
+    {
+        final double[] ideal;
+        final double[] nadir;
+        List<Solution> members = new ArrayList<>(MAX_LEAF_SIZE+1); // null for internal nodes
+        List<Node> children = null; // null for leaves
+
+        Node(Solution s) {
+            ideal = new double[s.getNumberOfObjectives()];
+            nadir = new double[s.getNumberOfObjectives()];
+            for (int i=0; i<ideal.length; i++) {
+                ideal[i] = s.getFitness(i);
+                nadir[i] = s.getFitness(i);
+            }
+            members.add(s);
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+
+        boolean isEmpty() {
+            return isLeaf() ? members.isEmpty() : children.isEmpty();
+        }
+
+        void clear() {
+            if (isLeaf())
+                members.clear();
+            else
+                children.clear();
+        }
+
+        /**
+         * Widens the bounds to include s
+         */
+        void include(Solution s) {
+            for (int i=0; i<ideal.length; i++) {
+                ideal[i] = Math.min(ideal[i], s.getFitness(i));
+                nadir[i] = Math.max(nadir[i], s.getFitness(i));
+            }
+        }
+
+        /**
+         * Recomputes the bounds from the members or children, after removals
+         */
+        void recomputeBounds() {
+            Arrays.fill(ideal, Double.POSITIVE_INFINITY);
+            Arrays.fill(nadir, Double.NEGATIVE_INFINITY);
+            if (isLeaf()) {
+                for (Solution s : members)
+                    include(s);
+            } else {
+                for (Node child : children) {
+                    for (int i=0; i<ideal.length; i++) {
+                        ideal[i] = Math.min(ideal[i], child.ideal[i]);
+                        nadir[i] = Math.max(nadir[i], child.nadir[i]);
+                    }
+                }
+            }
+        }
+
+        double distanceToMidpoint(Solution s) {
+            double sum = 0.0;
+            for (int i=0; i<ideal.length; i++) {
+                double d = s.getFitness(i) - (ideal[i]+nadir[i])/2;
+                sum += d*d;
+            }
+            return sum; // squared, as only compared
+        }
+    }
+}
@@ -195,6 +195,11 @@ public class OnePlusOneES
             return objectives.length;
         }
 
+        @Override
+        public double[] getFitnessView(){
+            return objectives;
+        }
+
         /**
          * Equal if fitness the same
          */
@@ -1,5 +1,6 @@
 package hypervolume;
 
+import java.util.ArrayList;
 import java.util.Collection;
 
 /**
@@ -25,6 +26,26 @@ public interface ParetoSetManager
      */
     boolean weaklyDominates(Solution s) throws IllegalNumberOfObjectivesException;
     
+    /**
+     * Collects into dominators up to dominators.length members of this set which weakly
+     * dominate s, returning how many were collected (0 if s is not weakly dominated). 
+     * Passing an array of length 2 tells whether s is weakly dominated by exactly one 
+     * member, and if so which.
+     */
+    default int collectWeaklyDominating(Solution s, Solution[] dominators) throws IllegalNumberOfObjectivesException {
+        if (dominators.length == 0 || !weaklyDominates(s)) // cheap rejection, also checks number of objectives
+            return 0;
+        int found = 0;
+        for (Solution member : getContents()) {
+            if (member.weaklyDominates(s)) {
+                dominators[found++] = member;
+                if (found == dominators.length)
+                    break;
+            }
+        }
+        return found;
+    }
+    
     /**
      * Returns contents of the set in an array.
      */
@@ -56,5 +77,38 @@ public interface ParetoSetManager
             this.add(s);
     }
     
+    /**
+     * Removes member s (compared by identity), returning true if it was a member. The 
+     * default rebuilds the set from the remaining members. Estimators are only told of 
+     * removals made by a BoundedParetoSetManager, so removing members from the set of 
+     * an estimator directly leaves any samples it retains stale.
+     */
+    default boolean remove(Solution s) throws IllegalNumberOfObjectivesException {
+        ArrayList<Solution> rest = new ArrayList<>(size());
+        boolean found = false;
+        for (Solution member : getContents()) {
+            if (member == s)
+                found = true;
+            else
+                rest.add(member);
+        }
+        if (!found)
+            return false;
+        clean();
+        for (Solution member : rest)
+            add(member);
+        return true;
+    }
+    
+    /**
+     * Returns the number of members evicted so far to keep the set within a capacity 
+     * (see BoundedParetoSetManager), 0 for an unbounded set. Estimators which retain 
+     * samples compare this across updates, and discard their history after an eviction,
+     * as samples only the evicted member dominated are no longer dominated.
+     */
+    default long getNumberOfEvictions() {
+        return 0L;
+    }
+    
     
 }
@@ -0,0 +1,64 @@
+package hypervolume;
+
+/**
+ * ParetoSetManagerFactory provides new, empty, ParetoSetManagers for a given number of
+ * objectives, so estimators can be set up to hold their Pareto set estimate in any
+ * implementation. The static managerFactory methods of the implementations may be
+ * passed directly, e.g. <code>NDTreeManager::managerFactory</code>.
+ * 
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+@FunctionalInterface
+public interface ParetoSetManagerFactory
+{
+    /**
+     * Expected size at or below which forExpectedArchiveSize keeps the Dominance Decision Tree
+     */
+    int SMALL_ARCHIVE_SIZE = 64;
+    
+    /**
+     * Number of objectives from which forExpectedArchiveSize considers the linear list
+     */
+    int MANY_OBJECTIVES = 8;
+    
+    /**
+     * Expected size at or below which forExpectedArchiveSize picks the (vectorised) linear 
+     * list for many objectives
+     */
+    int LINEAR_SCAN_ARCHIVE_SIZE = 1000;
+    
+    /**
+     * Returns a new empty ParetoSetManager for solutions with numberOfObjectives objectives
+     * 
+     * @throws IllegalNumberOfObjectivesException if the implementation does not support
+     *         numberOfObjectives objectives
+     */
+    ParetoSetManager newManager(int numberOfObjectives) throws IllegalNumberOfObjectivesException;
+    
+    /**
+     * Returns a factory choosing an implementation from the number of objectives and the 
+     * number of members the set is expected to grow to. In benchmarks (random queries 
+     * against fronts of 50 to 5000 members, with 2 to 12 objectives) the quad-tree was 
+     * quickest for two objectives, the Dominance Decision Tree and ND-Tree were level on
+     * small fronts, and the ND-Tree was quickest, by up to 4x, on larger fronts. The
+     * exception is 8 or more objectives on fronts of up to around a thousand members,
+     * where the linear list was quickest when its scan was vectorised (see 
+     * DominanceKernel).
+     * 
+     * @param expectedSize number of members the set is expected to grow to
+     */
+    static ParetoSetManagerFactory forExpectedArchiveSize(int expectedSize)
+    {
+        return numberOfObjectives -> {
+            if (numberOfObjectives <= 2)
+                return QuadTreeManager.managerFactory(numberOfObjectives);
+            if (numberOfObjectives >= MANY_OBJECTIVES && expectedSize <= LINEAR_SCAN_ARCHIVE_SIZE
+                && !(DominanceKernel.kernelFactory() instanceof ScalarDominanceKernel))
+                return LinearParetoSetManager.managerFactory(numberOfObjectives);
+            if (expectedSize <= SMALL_ARCHIVE_SIZE)
+                return DominanceDecisionTreeManager.managerFactory(numberOfObjectives);
+            return NDTreeManager.managerFactory(numberOfObjectives);
+        };
+    }
+}
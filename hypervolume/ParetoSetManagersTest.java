@@ -0,0 +1,294 @@
+package hypervolume;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+
+/**
+ * The test class ParetoSetManagersTest.
+ *
+ * Class provides tests for the alternative ParetoSetManager implementations 
+ * (ArrayDominanceDecisionTreeManager, NDTreeManager, QuadTreeManager and 
+ * LinearParetoSetManager), against
+ * DominanceDecisionTreeManager, and for swapping the manager used by estimators.
+ *
+ * @author  Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class ParetoSetManagersTest
+{
+    RandomSource rng;
+    ParetoSetManagerFactory[] factories = {
+        ArrayDominanceDecisionTreeManager::managerFactory,
+        NDTreeManager::managerFactory,
+        QuadTreeManager::managerFactory,
+        LinearParetoSetManager::managerFactory,
+        ParetoSetManagerFactory.forExpectedArchiveSize(1000)
+    };
+    
+    /**
+     * Default constructor for test class ParetoSetManagersTest
+     */
+    public ParetoSetManagersTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp()
+    {
+        rng = RandomSource.sourceFactory(7L);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown()
+    {
+        rng = null;
+    }
+
+    @Test(timeout=200000)
+    public void matchesDominanceDecisionTreeTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        for (ParetoSetManagerFactory factory : factories) {
+            for (int numberOfObjectives : new int[]{2, 3, 5, 8}) {
+                double[] lowerBounds = new double[numberOfObjectives];
+                double[] upperBounds = new double[numberOfObjectives];
+                for (int j=0; j<numberOfObjectives; j++)
+                    upperBounds[j] = 1.0;
+                ParetoSetManager tree = DominanceDecisionTreeManager.managerFactory(numberOfObjectives);
+                ParetoSetManager other = factory.newManager(numberOfObjectives);
+                Solution previous = null;
+                for (int i=0; i<2000; i++) {
+                    // solutions slowly improve, so members are regularly evicted
+                    double[] lower = new double[numberOfObjectives];
+                    for (int j=0; j<numberOfObjectives; j++)
+                        lower[j] = 0.5*(1.0 - i/2000.0);
+                    Solution s = new MonteCarloSolution(lower, upperBounds, rng);
+                    if (i%7 == 0) // round some values, so ties occur
+                        s.setFitness(0, Math.floor(s.getFitness(0)*10)/10);
+                    if (i%13 == 0 && previous != null) // and some duplicates
+                        s = copy(previous);
+                    Solution query = new MonteCarloSolution(lowerBounds, upperBounds, rng);
+                    assertEquals(tree.weaklyDominates(query),other.weaklyDominates(query));
+                    if (i%10 == 0) {
+                        assertEquals(anyWeaklyDominates(other,query),other.weaklyDominates(query));
+                        assertCollectsWeaklyDominating(other,query);
+                    }
+                    assertEquals(tree.add(s),other.add(s));
+                    assertEquals(tree.size(),other.size());
+                    previous = s;
+                }
+                assertEquals(asSet(tree),asSet(other));
+                assertEquals(other.getContents().size(),other.size());
+                other.clean();
+                assertEquals(other.size(),0);
+                assertFalse(other.weaklyDominates(new MonteCarloSolution(lowerBounds, upperBounds, rng)));
+            }
+        }
+    }
+
+    @Test(timeout=200000)
+    public void removeTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        for (ParetoSetManagerFactory factory : factories) {
+            ParetoSetManager other = factory.newManager(3);
+            double[] lowerBounds = {0.0, 0.0, 0.0};
+            double[] upperBounds = {1.0, 1.0, 1.0};
+            for (int i=0; i<300; i++)
+                other.add(new MonteCarloSolution(lowerBounds, upperBounds, rng));
+            assertFalse(other.remove(new MonteCarloSolution(lowerBounds, upperBounds, rng)));
+            Map<Solution,Boolean> remaining = asSet(other);
+            for (Solution s : new java.util.ArrayList<>(other.getContents())) {
+                if (rng.nextDouble() < 0.5) {
+                    assertTrue(other.remove(s));
+                    assertFalse(other.remove(s));
+                    remaining.remove(s);
+                }
+            }
+            assertEquals(remaining,asSet(other));
+            assertEquals(other.size(),remaining.size());
+        }
+    }
+
+    @Test(timeout=200000)
+    public void boundedTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        // the member dominating the least of the box alone is evicted, whichever manager holds the set
+        for (ParetoSetManagerFactory factory : factories) {
+            double[] lowerBounds = {0.0, 0.0};
+            double[] upperBounds = {1.0, 1.0};
+            ParetoSetManager bounded = BoundedParetoSetManager.boundedFactory(factory, 3, lowerBounds, upperBounds, 10000).newManager(2);
+            Solution[] members = {pointAt(0.1, 0.9), pointAt(0.5, 0.5), pointAt(0.9, 0.1), pointAt(0.55, 0.15)};
+            for (int i=0; i<3; i++)
+                assertTrue(bounded.add(members[i]));
+            assertEquals(bounded.getNumberOfEvictions(),0L);
+            assertTrue(bounded.add(members[3])); // (0.9, 0.1) now contributes least, so is evicted
+            assertEquals(bounded.size(),3);
+            assertEquals(bounded.getNumberOfEvictions(),1L);
+            assertFalse(asSet(bounded).containsKey(members[2]));
+            assertTrue(asSet(bounded).containsKey(members[3]));
+            assertFalse(bounded.add(pointAt(0.6, 0.45))); // contributes least, so is turned away
+            assertFalse(bounded.add(pointAt(1.5, 0.0))); // dominates none of the box
+            assertEquals(bounded.getNumberOfEvictions(),1L);
+            assertEquals(asSet(bounded).keySet().size(),3);
+            assertTrue(bounded.add(pointAt(0.4, 0.4))); // evicts (0.5, 0.5), so stays within capacity
+            assertEquals(bounded.getNumberOfEvictions(),1L);
+            assertEquals(bounded.size(),3);
+            for (int i=0; i<500; i++) {
+                bounded.add(new MonteCarloSolution(lowerBounds, upperBounds, rng));
+                assertTrue(bounded.size() <= 3);
+            }
+        }
+    }
+
+    @Test(timeout=200000)
+    public void boundedTieTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        // members contributing nothing tie, the entrant going first, then members in the
+        // order added, whichever manager holds the set
+        for (ParetoSetManagerFactory factory : factories) {
+            double[] lowerBounds = {0.0, 0.0};
+            double[] upperBounds = {1.0, 1.0};
+            ParetoSetManager bounded = BoundedParetoSetManager.boundedFactory(factory, 2, lowerBounds, upperBounds, 1000).newManager(2);
+            Solution first = pointAt(1.5, 0.0);
+            Solution second = pointAt(0.0, 1.5);
+            assertTrue(bounded.add(first));
+            assertTrue(bounded.add(second));
+            assertTrue(bounded.add(pointAt(0.5, 0.5))); // first and second both contribute nothing
+            assertEquals(bounded.getNumberOfEvictions(),1L);
+            assertFalse(asSet(bounded).containsKey(first));
+            assertTrue(asSet(bounded).containsKey(second));
+            assertFalse(bounded.add(pointAt(1.2, -0.5))); // ties with second, so is turned away
+            assertEquals(bounded.getNumberOfEvictions(),1L);
+            assertEquals(bounded.size(),2);
+            assertTrue(asSet(bounded).containsKey(second));
+        }
+    }
+
+    @Test(timeout=200000)
+    public void deepArrayTreeTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        // mutually non-dominated points added in order of the first objective form a 
+        // single chain, deeper than a recursive traversal could handle
+        int n = 20000;
+        ParetoSetManager array = ArrayDominanceDecisionTreeManager.managerFactory(2);
+        for (int i=0; i<n; i++) {
+            double[] f = {i, n-i};
+            assertTrue(array.add(new MonteCarloSolution(f, f)));
+        }
+        assertEquals(array.size(),n);
+        assertTrue(array.weaklyDominates(new MonteCarloSolution(new double[]{n-1, 1}, new double[]{n-1, 1})));
+        assertFalse(array.weaklyDominates(new MonteCarloSolution(new double[]{n-0.5, 0.5}, new double[]{n-0.5, 0.5})));
+        // dominating the root evicts nodes throughout the chain
+        assertTrue(array.add(new MonteCarloSolution(new double[]{-1, n-n/2}, new double[]{-1, n-n/2})));
+        assertEquals(array.size(),n-n/2); // (i, n-i) for i <= n/2 evicted
+        assertEquals(array.getContents().size(),array.size());
+    }
+
+    @Test(timeout=200000)
+    public void deepQuadTreeTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        // mutually non-dominated points added in order of the first objective form a 
+        // single chain of children
+        int n = 10000;
+        ParetoSetManager quad = QuadTreeManager.managerFactory(2);
+        for (int i=0; i<n; i++) {
+            double[] f = {i, n-i};
+            assertTrue(quad.add(new MonteCarloSolution(f, f)));
+        }
+        assertEquals(quad.size(),n);
+        assertTrue(quad.weaklyDominates(new MonteCarloSolution(new double[]{n-1, 1}, new double[]{n-1, 1})));
+        assertFalse(quad.weaklyDominates(new MonteCarloSolution(new double[]{n-0.5, 0.5}, new double[]{n-0.5, 0.5})));
+        // dominating the root evicts nodes along the chain
+        assertTrue(quad.add(new MonteCarloSolution(new double[]{-1, n-n/2}, new double[]{-1, n-n/2})));
+        assertEquals(quad.size(),n-n/2); // (i, n-i) for i <= n/2 evicted
+        assertEquals(quad.getContents().size(),quad.size());
+    }
+
+    @Test(timeout=200000)
+    public void estimatorManagerSwapTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        double[] lowerBounds = {0.0, 0.0, 0.0};
+        double[] upperBounds = {1.0, 1.0, 1.0};
+        for (ParetoSetManagerFactory factory : factories) {
+            IncrementalHypervolumeEstimator standard = new IncrementalHypervolumeEstimator(3, lowerBounds, upperBounds);
+            IncrementalHypervolumeEstimator swapped = new IncrementalHypervolumeEstimator(3, lowerBounds, upperBounds);
+            standard.setNumberOfSamplesToComparePerIteration(200);
+            swapped.setNumberOfSamplesToComparePerIteration(200);
+            for (int i=0; i<100; i++) {
+                Solution s = new MonteCarloSolution(lowerBounds, upperBounds, rng);
+                assertEquals(standard.updateWithNewSolution(s),swapped.updateWithNewSolution(s));
+                if (i == 50) { // members carried over to replacement
+                    swapped.setParetoSetManagerFactory(factory);
+                    assertEquals(asSet(standard.getCurrentParetoSetEstimate()),asSet(swapped.getCurrentParetoSetEstimate()));
+                }
+                assertEquals(standard.getNewHypervolumeEstimate(),swapped.getNewHypervolumeEstimate(),0.0);
+            }
+        }
+    }
+
+    private static Solution copy(Solution s)
+    {
+        double[] f = new double[s.getNumberOfObjectives()];
+        for (int j=0; j<f.length; j++)
+            f[j] = s.getFitness(j);
+        return new MonteCarloSolution(f, f);
+    }
+
+    private static boolean anyWeaklyDominates(ParetoSetManager list, Solution s)
+    {
+        for (Solution member : list.getContents())
+            if (member.weaklyDominates(s))
+                return true;
+        return false;
+    }
+
+    private static void assertCollectsWeaklyDominating(ParetoSetManager list, Solution s)
+    throws IllegalNumberOfObjectivesException
+    {
+        int count = 0;
+        for (Solution member : list.getContents())
+            if (member.weaklyDominates(s))
+                count++;
+        Solution[] dominators = new Solution[2];
+        int found = list.collectWeaklyDominating(s, dominators);
+        assertEquals(Math.min(count,2),found);
+        for (int k=0; k<found; k++)
+            assertTrue(dominators[k].weaklyDominates(s));
+        if (found == 2)
+            assertNotSame(dominators[0],dominators[1]);
+    }
+
+    private static Solution pointAt(double... values)
+    {
+        return new MonteCarloSolution(values, values);
+    }
+
+    private static Map<Solution,Boolean> asSet(ParetoSetManager list)
+    {
+        Map<Solution,Boolean> set = new IdentityHashMap<>();
+        for (Solution s : list.getContents())
+            set.put(s,Boolean.TRUE);
+        return set;
+    }
+}
@@ -0,0 +1,148 @@
+package hypervolume;
+
+/**
+ * PrecisionTarget holds a target width for the confidence interval on a Monte Carlo
+ * hypervolume estimate, letting estimators stop sampling once it has been met.
+ *
+ * Each sample is dominated or not, so the number dominated is binomial, and the
+ * interval used is the Wilson score interval on the dominated fraction. Unlike the
+ * normal approximation (the estimate plus or minus z standard errors) this does not
+ * collapse to zero width when no samples, or all samples, are dominated, so a run
+ * is not stopped after a handful of samples near an empty or full box, yet its
+ * width does shrink quickly there, so far fewer samples are needed than when the
+ * front covers about half the box.
+ *
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+final class PrecisionTarget
+{
+    static final int CHECK_INTERVAL = 64; // samples drawn between checks of the interval width
+    final double halfWidth; // half width of interval at which sampling may stop
+    final double confidenceLevel;
+    private final double z; // standard normal quantile for confidenceLevel
+
+    /**
+     * Target of a confidence interval on the dominated fraction, at the confidence
+     * level given, extending at most halfWidth either side of the estimate
+     *
+     * @throws IllegalArgumentException if halfWidth is not positive, or confidenceLevel
+     *         not strictly between 0 and 1
+     */
+    PrecisionTarget(double halfWidth, double confidenceLevel)
+    throws IllegalArgumentException
+    {
+        if (!(halfWidth > 0.0))
+            throw new IllegalArgumentException("Target half width must be positive, requested " + halfWidth);
+        if (!(confidenceLevel > 0.0 && confidenceLevel < 1.0))
+            throw new IllegalArgumentException("Confidence level must be between 0 and 1, requested " + confidenceLevel);
+        this.halfWidth = halfWidth;
+        this.confidenceLevel = confidenceLevel;
+        z = zScore(confidenceLevel);
+    }
+
+    /**
+     * Returns true if the interval on dominated samples out of those drawn is no
+     * wider than the target
+     */
+    boolean isMet(long dominated, long samples)
+    {
+        return isMet(dominated, samples, 1.0);
+    }
+
+    /**
+     * Returns true if the interval on dominated samples out of those drawn, scaled by
+     * scale (the fraction of the box the samples were drawn from), is no wider than
+     * the target
+     */
+    boolean isMet(long dominated, long samples, double scale)
+    {
+        return samples > 0 && scale*wilsonHalfWidth(dominated/(double) samples, samples, z) <= halfWidth;
+    }
+
+    /**
+     * Returns an estimate of how many more samples must be drawn for the target to
+     * be met, assuming the dominated fraction stays near its current value (at least 1)
+     */
+    long samplesStillNeeded(long dominated, long samples)
+    {
+        double p = wilsonCentre(samples == 0 ? 0.5 : dominated/(double) samples, samples, z);
+        double needed = z*z*p*(1.0-p)/(halfWidth*halfWidth) - z*z; // Wilson half width ~ z*sqrt(p(1-p)/(n+z^2))
+        return Math.max(1L, (long) Math.ceil(needed) - samples);
+    }
+
+    /**
+     * Returns the standard error of a fraction p estimated from samples draws, NaN
+     * if there are none
+     */
+    static double standardError(double p, long samples)
+    {
+        if (samples <= 0)
+            return Double.NaN;
+        return Math.sqrt(p*(1.0-p)/samples);
+    }
+
+    /**
+     * Returns the Wilson score interval, {lower, upper}, on a fraction p estimated
+     * from samples draws, at the confidence level given. With no samples the
+     * interval is [0,1]
+     */
+    static double[] wilsonInterval(double p, long samples, double confidenceLevel)
+    {
+        if (samples <= 0)
+            return new double[]{0.0, 1.0};
+        double z = zScore(confidenceLevel);
+        double centre = wilsonCentre(p, samples, z);
+        double half = wilsonHalfWidth(p, samples, z);
+        double lower = (p <= 0.0) ? 0.0 : Math.max(0.0, centre-half); // exact at the extremes, avoiding rounding
+        double upper = (p >= 1.0) ? 1.0 : Math.min(1.0, centre+half);
+        return new double[]{lower, upper};
+    }
+
+    private static double wilsonCentre(double p, long samples, double z)
+    {
+        double z2 = z*z;
+        return (p + z2/(2.0*samples)) / (1.0 + z2/samples);
+    }
+
+    private static double wilsonHalfWidth(double p, long samples, double z)
+    {
+        double z2 = z*z;
+        return z/(1.0 + z2/samples) * Math.sqrt(p*(1.0-p)/samples + z2/(4.0*samples*samples));
+    }
+
+    /**
+     * Returns the z such that a standard normal lies within z of 0 with probability
+     * confidenceLevel
+     */
+    static double zScore(double confidenceLevel)
+    {
+        return inverseNormal(0.5 + confidenceLevel/2.0);
+    }
+
+    /**
+     * Inverse of the standard normal distribution function, by the rational approximation
+     * of Acklam (relative error below 1.2e-9), for 0 < q < 1
+     */
+    static double inverseNormal(double q)
+    {
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                             1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                             6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                            -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                            3.754408661907416e+00};
+        final double low = 0.02425;
+        if (q < low) { // lower tail
+            double r = Math.sqrt(-2.0*Math.log(q));
+            return (((((c[0]*r+c[1])*r+c[2])*r+c[3])*r+c[4])*r+c[5]) / ((((d[0]*r+d[1])*r+d[2])*r+d[3])*r+1.0);
+        }
+        if (q > 1.0-low) // upper tail, by symmetry
+            return -inverseNormal(1.0-q);
+        double r = q-0.5;
+        double s = r*r;
+        return (((((a[0]*s+a[1])*s+a[2])*s+a[3])*s+a[4])*s+a[5])*r / (((((b[0]*s+b[1])*s+b[2])*s+b[3])*s+b[4])*s+1.0);
+    }
+}
@@ -0,0 +1,39 @@
+package hypervolume;
+
+/**
+ * PseudoRandomSequence provides independent uniform points, drawn from a RandomSource.
+ * 
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class PseudoRandomSequence implements SampleSequence
+{
+    private final RandomSource rng;
+    
+    /**
+     * Generates a sequence drawing its points from rng
+     * 
+     * @param rng generator to draw points from
+     */
+    public PseudoRandomSequence(RandomSource rng)
+    {
+        this.rng = rng;
+    }
+    
+    @Override
+    public void next(double[] point)
+    {
+        for (int i=0; i<point.length; i++)
+            point[i] = rng.nextDouble();
+    }
+    
+    /**
+     * Points are independent, so returns a sequence over an independent stream split
+     * from this sequence's generator
+     */
+    @Override
+    public SampleSequence split(long length)
+    {
+        return new PseudoRandomSequence(rng.split());
+    }
+}
@@ -0,0 +1,311 @@
+package hypervolume;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+/**
+ * QuadTreeManager class implements the multi-objective quad-tree, as used for Pareto
+ * archives in
+ *
+ * Sanaz Mostaghim and Jürgen Teich. 2005.
+ * Quad-trees: A Data Structure for Storing Pareto Sets in Multiobjective
+ * Evolutionary Algorithms with Elitism. In Evolutionary Multiobjective
+ * Optimization, Springer, 81–104
+ *
+ * Every member is a node, and each child of a node is labelled by its successorship
+ * to it: a bit mask with bit i set when the child is no better than the node on
+ * objective i. Only the labels actually in use are stored, so a node has at most
+ * as many child slots as children. A member can only weakly dominate a query if
+ * its label is a subset of the query's own successorship to the same node, and
+ * can only be weakly dominated by the query if its label is a superset, so both
+ * queries and pruning skip all other subtrees. When members are removed, the
+ * surviving members of their subtrees are reinserted below the parent.
+ *
+ * Labels are held in a long, so at most 63 objectives are supported. Queries walk
+ * the tree via parent links rather than recursing, so deep trees cannot overflow
+ * the stack, and, as they do not touch any shared scratch state, may be run
+ * concurrently with each other.
+ *
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class QuadTreeManager implements ParetoSetManager
+{
+    public final int NUMBER_OF_OBJECTIVES; // number of objectives of solutions being managed
+    static final int MAX_OBJECTIVES = 63;
+    private final long allWorse; // label of a point no better than a node on every objective
+    private Node root;
+    private int size = 0;
+
+    QuadTreeManager(int numberOfObjectives) throws IllegalNumberOfObjectivesException {
+        if (numberOfObjectives > MAX_OBJECTIVES)
+            throw new IllegalNumberOfObjectivesException("Quad-tree supports at most " + MAX_OBJECTIVES
+                + " objectives, requested " + numberOfObjectives);
+        NUMBER_OF_OBJECTIVES = numberOfObjectives;
+        allWorse = -1L >>> (64-numberOfObjectives);
+    }
+
+    @Override
+    public boolean add(Solution s) throws IllegalNumberOfObjectivesException
+    {
+        if (weaklyDominates(s))
+            return false;
+        // not dominated, so need to remove any and all current members than are dominated
+        if (root != null)
+            removeDominated(s);
+        Node node = new Node(s);
+        if (root == null)
+            root = node;
+        else
+            insert(root,node);
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean weaklyDominates(Solution s) throws IllegalNumberOfObjectivesException
+    {
+        if (s.getNumberOfObjectives()!=NUMBER_OF_OBJECTIVES)
+            throw new IllegalNumberOfObjectivesException("Manager set up for " + NUMBER_OF_OBJECTIVES
+                + " objectives, however solution added has "+ s.getNumberOfObjectives());
+        if (root == null)
+            return false;
+        double[] values = Solution.fitnessOf(s);
+        Node node = root;
+        long label = successorship(values,node);
+        if (label == allWorse)
+            return true;
+        int next = 0; // next child slot of node to consider
+        while (true) {
+            Node child = null;
+            for (; next<node.numberOfChildren; next++) {
+                if ((node.labels[next] & ~label) == 0L) { // child no worse than s wherever node is
+                    child = node.children[next];
+                    break;
+                }
+            }
+            if (child != null) {
+                node = child;
+                label = successorship(values,node);
+                if (label == allWorse)
+                    return true;
+                next = 0;
+            } else {
+                if (node == root)
+                    return false;
+                next = node.slotAtParent+1;
+                node = node.parent;
+                label = successorship(values,node);
+            }
+        }
+    }
+
+    /**
+     * Returns the successorship of s to node: bit i is set if s is no better than node
+     * on objective i
+     */
+    private long successorship(double[] s, Node node) {
+        long label = 0L;
+        for (int i=0; i<NUMBER_OF_OBJECTIVES; i++)
+            if (s[i] >= node.values[i])
+                label |= 1L << i;
+        return label;
+    }
+
+    /**
+     * Removes all members weakly dominated by s, which is known not to be weakly dominated
+     * by any member
+     */
+    private void removeDominated(Solution s) {
+        ArrayList<Node> dominated = new ArrayList<>();
+        double[] values = Solution.fitnessOf(s);
+        Node node = root;
+        long label = successorship(values,node);
+        if (Solution.weaklyDominates(values,node.values))
+            dominated.add(node);
+        int next = 0;
+        while (true) { // pre-order walk of subtrees which may hold dominated members
+            Node child = null;
+            for (; next<node.numberOfChildren; next++) {
+                if ((node.labels[next] & label) == label) { // child no better than s wherever node is
+                    child = node.children[next];
+                    break;
+                }
+            }
+            if (child != null) {
+                node = child;
+                label = successorship(values,node);
+                if (Solution.weaklyDominates(values,node.values))
+                    dominated.add(node);
+                next = 0;
+            } else {
+                if (node == root)
+                    break;
+                next = node.slotAtParent+1;
+                node = node.parent;
+                label = successorship(values,node);
+            }
+        }
+        ArrayList<Node> survivors = new ArrayList<>();
+        for (Node d : dominated) {
+            if (d.removed)
+                continue; // already met in the subtree of an earlier removed member
+            d.removed = true;
+            size--;
+            Node parent = d.parent;
+            detach(d);
+            survivors.clear();
+            collectSurvivors(d,s,survivors);
+            for (Node survivor : survivors) {
+                survivor.clearChildren();
+                if (root == null)
+                    root = survivor;
+                else
+                    insert(parent == null ? root : parent, survivor);
+            }
+        }
+    }
+
+    /**
+     * Adds the members below d which are not weakly dominated by s to survivors, marking
+     * those which are as removed
+     */
+    private void collectSurvivors(Node d, Solution s, ArrayList<Node> survivors) {
+        ArrayList<Node> stack = new ArrayList<>();
+        for (int c=0; c<d.numberOfChildren; c++)
+            stack.add(d.children[c]);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size()-1);
+            for (int c=0; c<node.numberOfChildren; c++)
+                stack.add(node.children[c]);
+            if (Solution.weaklyDominates(s,node.values)) {
+                node.removed = true;
+                size--;
+            } else {
+                survivors.add(node);
+            }
+        }
+    }
+
+    /**
+     * Detaches node from its parent, or from the root
+     */
+    private void detach(Node node) {
+        Node parent = node.parent;
+        if (parent == null) {
+            root = null;
+            return;
+        }
+        int last = --parent.numberOfChildren;
+        parent.labels[node.slotAtParent] = parent.labels[last];
+        parent.children[node.slotAtParent] = parent.children[last];
+        parent.children[node.slotAtParent].slotAtParent = node.slotAtParent;
+        parent.children[last] = null;
+        node.parent = null;
+    }
+
+    /**
+     * Inserts the childless node into the subtree below from, following the labels of
+     * its successorship until reaching a node with no child of that label
+     */
+    private void insert(Node from, Node node) {
+        Node current = from;
+        while (true) {
+            long label = successorship(node.values,current);
+            Node child = current.childLabelled(label);
+            if (child == null) {
+                current.addChild(label,node);
+                return;
+            }
+            current = child;
+        }
+    }
+
+    @Override
+    public Collection<? extends Solution> getContents() {
+        ArrayList<Solution> contents = new ArrayList<>(size);
+        if (root == null)
+            return contents;
+        ArrayList<Node> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size()-1);
+            contents.add(node.solution);
+            for (int c=0; c<node.numberOfChildren; c++)
+                stack.add(node.children[c]);
+        }
+        return contents;
+    }
+
+    @Override
+    public Solution getRandomMember() throws UnsupportedOperationException
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    public static QuadTreeManager managerFactory(int numberOfObjectives) throws IllegalNumberOfObjectivesException {
+        return new QuadTreeManager(numberOfObjectives);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clean() {
+        root = null;
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Members :" + getContents();
+    }
+
+    /**
+     * Node of the tree, holding one member and its children along with their labels
+     */
+    private static class Node
+    {
+        final Solution solution;
+        final double[] values;
+        Node parent;
+        int slotAtParent;
+        long[] labels = new long[2];
+        Node[] children = new Node[2];
+        int numberOfChildren = 0;
+        boolean removed = false;
+
+        Node(Solution s) {
+            solution = s;
+            values = new double[s.getNumberOfObjectives()];
+            for (int i=0; i<values.length; i++)
+                values[i] = s.getFitness(i);
+        }
+
+        Node childLabelled(long label) {
+            for (int c=0; c<numberOfChildren; c++)
+                if (labels[c] == label)
+                    return children[c];
+            return null;
+        }
+
+        void addChild(long label, Node child) {
+            if (numberOfChildren == children.length) {
+                labels = Arrays.copyOf(labels, 2*numberOfChildren);
+                children = Arrays.copyOf(children, 2*numberOfChildren);
+            }
+            labels[numberOfChildren] = label;
+            children[numberOfChildren] = child;
+            child.parent = this;
+            child.slotAtParent = numberOfChildren++;
+        }
+
+        void clearChildren() {
+            Arrays.fill(children, 0, numberOfChildren, null);
+            numberOfChildren = 0;
+            parent = null;
+        }
+    }
+}
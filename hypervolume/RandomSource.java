@@ -0,0 +1,41 @@
+package hypervolume;
+
+/**
+ * RandomSource describes the pseudo-random number generators used to draw Monte Carlo
+ * samples. Each estimator holds its own instance, so estimators running in the same
+ * JVM neither share nor perturb each other's sample streams. 
+ * 
+ * Implementations must support deterministic splitting: split() returns a new, 
+ * statistically independent generator whose stream is fully determined by the state
+ * of this generator, so runs that fan sampling out to several streams remain 
+ * reproducible for a given seed. Instances are not thread-safe; each thread should
+ * draw from its own split.
+ * 
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public interface RandomSource
+{
+    /**
+     * Returns the next pseudo-random value, uniformly distributed in [0,1)
+     */
+    double nextDouble();
+    
+    /**
+     * Returns the next pseudo-random 64 bit value
+     */
+    long nextLong();
+    
+    /**
+     * Returns a new generator whose stream is independent of this one, advancing the
+     * state of this generator in the process
+     */
+    RandomSource split();
+    
+    /**
+     * Method provides the default generator seeded with seed
+     */
+    static RandomSource sourceFactory(long seed) {
+        return new XoroshiroRandomSource(seed);
+    }
+}
@@ -0,0 +1,117 @@
+package hypervolume;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The test class RandomSourceTest.
+ *
+ * Class provides tests for the splitting contract of the RandomSource implementations,
+ * checking that streams split from one another, flat or nested, neither coincide nor
+ * overlap, and are reproducible for a given seed.
+ *
+ * @author  Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class RandomSourceTest
+{
+    List<SourceFactory> factories;
+
+    private interface SourceFactory
+    {
+        RandomSource newSource(long seed);
+    }
+
+    /**
+     * Default constructor for test class RandomSourceTest
+     */
+    public RandomSourceTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp()
+    {
+        factories = new ArrayList<>();
+        factories.add(XoroshiroRandomSource::new);
+        factories.add(SplittableRandomSource::new);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown()
+    {
+        factories = null;
+    }
+
+    @Test(timeout=200000)
+    public void nestedSplitTest()
+    {
+        // a split of a split must not walk onto the stream of its parent, nor of any
+        // sibling split before or after it
+        for (SourceFactory factory : factories) {
+            RandomSource parent = factory.newSource(42L);
+            RandomSource child = parent.split();
+            RandomSource grandchild = child.split();
+            RandomSource sibling = parent.split();
+            RandomSource nephew = sibling.split();
+            RandomSource greatGrandchild = grandchild.split();
+            assertDisjoint(parent, child, grandchild, sibling, nephew, greatGrandchild);
+        }
+    }
+
+    @Test(timeout=200000)
+    public void flatSplitTest()
+    {
+        for (SourceFactory factory : factories) {
+            RandomSource parent = factory.newSource(7L);
+            RandomSource[] streams = new RandomSource[9];
+            streams[0] = parent;
+            for (int i=1; i<streams.length; i++)
+                streams[i] = parent.split();
+            assertDisjoint(streams);
+        }
+    }
+
+    @Test(timeout=200000)
+    public void reproducibleSplitTest()
+    {
+        for (SourceFactory factory : factories) {
+            RandomSource[] parent = {factory.newSource(3L), factory.newSource(3L)};
+            RandomSource[] nested = {parent[0].split().split(), parent[1].split().split()};
+            for (int i=0; i<1000; i++) {
+                assertEquals(parent[0].nextLong(),parent[1].nextLong());
+                assertEquals(nested[0].nextLong(),nested[1].nextLong());
+            }
+        }
+    }
+
+    /*
+     * Draws from each stream in turn, failing if any 64 bit value is drawn twice, as
+     * streams which coincide, or overlap within the draws made, would repeat values
+     */
+    private static void assertDisjoint(RandomSource... streams)
+    {
+        int draws = 20000;
+        Set<Long> seen = new HashSet<>();
+        for (int i=0; i<draws; i++)
+            for (int j=0; j<streams.length; j++)
+                assertTrue("Stream " + j + " repeats a value at draw " + i, seen.add(streams[j].nextLong()));
+    }
+}
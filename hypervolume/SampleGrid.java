@@ -0,0 +1,107 @@
+package hypervolume;
+
+import java.util.Arrays;
+
+/**
+ * SampleGrid is a uniform grid over the sampling box, used by SamplePool to
+ * index its samples by cell. The box is split into the same number of cells
+ * on each objective, chosen so that cells hold a handful of samples on average.
+ * Samples in a cell are stored contiguously in the pool; cell c occupies
+ * [start[c], start[c+1]) of the pool, of which [start[c], end[c]) are live.
+ *
+ * Cells are assigned by a computation which is monotone in the objective value,
+ * so a sample in a cell after the one holding value v on an objective has a
+ * value strictly greater than v on that objective, which is what lets whole
+ * cells be retired without testing their samples.
+ *
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+class SampleGrid
+{
+    static final int TARGET_SAMPLES_PER_CELL = 16;
+
+    private final double[] lowerBounds;
+    private final double[] upperBounds;
+    private final double[] widths; // width of a cell on each objective
+    private int cellsPerObjective = 1;
+    int[] start = new int[2]; // first pool index of each cell, and end of indexed samples
+    int[] end = new int[1]; // end of live samples of each cell
+
+    /**
+     * Generates a grid over the box bounded by lowerBounds and upperBounds, initially of
+     * a single cell
+     */
+    SampleGrid(double[] lowerBounds, double[] upperBounds) {
+        this.lowerBounds = lowerBounds.clone();
+        this.upperBounds = upperBounds.clone();
+        widths = new double[lowerBounds.length];
+        resize(0);
+    }
+
+    /**
+     * Chooses the number of cells for numberOfSamples samples, leaving all cells empty
+     */
+    void resize(int numberOfSamples) {
+        int numberOfObjectives = lowerBounds.length;
+        double cells = Math.max(1.0, numberOfSamples/(double) TARGET_SAMPLES_PER_CELL);
+        cellsPerObjective = Math.max(1, (int) Math.floor(Math.pow(cells, 1.0/numberOfObjectives)));
+        while (Math.pow(cellsPerObjective, numberOfObjectives) > cells && cellsPerObjective > 1)
+            cellsPerObjective--; // guard against rounding of the root
+        for (int i=0; i<numberOfObjectives; i++)
+            widths[i] = (upperBounds[i]-lowerBounds[i])/cellsPerObjective;
+        int numberOfCells = numberOfCells();
+        if (end.length != numberOfCells) {
+            start = new int[numberOfCells+1];
+            end = new int[numberOfCells];
+        } else {
+            clear();
+        }
+    }
+
+    /**
+     * Empties all cells, so all samples in the pool are unindexed
+     */
+    void clear() {
+        Arrays.fill(start,0);
+        Arrays.fill(end,0);
+    }
+
+    int numberOfObjectives() {
+        return lowerBounds.length;
+    }
+
+    int cellsPerObjective() {
+        return cellsPerObjective;
+    }
+
+    int numberOfCells() {
+        int cells = 1;
+        for (int i=0; i<lowerBounds.length; i++)
+            cells *= cellsPerObjective;
+        return cells;
+    }
+
+    /**
+     * Returns the pool index at which the indexed samples end
+     */
+    int indexedEnd() {
+        return start[start.length-1];
+    }
+
+    /**
+     * Returns the unclamped cell coordinate of value on objective
+     */
+    double coordinate(double value, int objective) {
+        if (widths[objective] <= 0.0)
+            return 0.0; // degenerate box on this objective
+        return Math.floor((value-lowerBounds[objective])/widths[objective]);
+    }
+
+    /**
+     * Returns the cell coordinate on objective of a sample with value on it
+     */
+    int cellCoordinate(double value, int objective) {
+        return (int) Math.max(0.0, Math.min(cellsPerObjective-1, coordinate(value,objective)));
+    }
+}
@@ -0,0 +1,940 @@
+package hypervolume;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * SamplePool holds the Monte Carlo samples which have not (yet) been dominated
+ * by the Pareto set estimate. Samples are stored contiguously in a single flat
+ * primitive array, rather than as individual Solution objects, so that rescans
+ * of the pool do not pay for object headers and pointer chasing. The array is 
+ * split into tiles of 64 samples, each tile holding its samples' values objective
+ * by objective (see DominanceKernel), so that a rescan against a solution tests 
+ * a whole tile at a time, vectorised where the jdk.incubator.vector module is 
+ * present.
+ * 
+ * Dominated samples are retired in a single mark-and-compact pass, so a rescan
+ * costs time linear in the pool size regardless of how many samples it retires.
+ * The relative order of the surviving samples is preserved. Rescans may also be
+ * run in parallel, in which case the pool is partitioned into contiguous chunks 
+ * which are compacted independently and then merged, leaving the pool in exactly
+ * the state the sequential rescan would.
+ * 
+ * Alternatively, samples may be marked as retired range by range, so that a
+ * rescan may be interrupted and resumed, and the marked samples compacted away
+ * later in one pass (see retireWeaklyDominatedBy and compactRetired).
+ * 
+ * The pool may also be indexed on a uniform grid over the sampling box (see 
+ * indexOnGrid and SampleGrid), in which case removing the samples weakly dominated
+ * by a solution only visits the grid cells in its dominated orthant: cells wholly 
+ * inside the orthant are retired without testing their samples, and only the 
+ * samples in cells on its boundary, and those added since the grid was last 
+ * rebuilt, are tested. Indexed removals do not preserve the order of the samples,
+ * and leave gaps in the cells, which are closed before any access by position.
+ * 
+ * As a cheaper alternative to the grid, the pool may instead be kept sorted on a
+ * single objective (see sortOn). A solution with value v on that objective can only
+ * weakly dominate samples with value at least v, so a binary search skips all the
+ * samples below v. New samples are appended unsorted, and merged into the sorted 
+ * samples once there are enough of them; removals preserve the order of the
+ * survivors, so keep the sorted samples sorted.
+ *
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+class SamplePool
+{
+    private static final int TILE = DominanceKernel.TILE;
+    private static final DominanceKernel KERNEL = DominanceKernel.kernelFactory();
+    private final int numberOfObjectives;
+    private double[] samples; // flat storage of samples, in tiles
+    private int size = 0; // number of live samples in pool
+    private boolean[] retired; // samples marked as retired, but not yet compacted away
+    private SampleGrid grid = null; // spatial index over samples, null if not indexed
+    private int gaps = 0; // number of dead slots left in grid cells by indexed removals
+    private double[] buffer; // scratch storage used when rebuilding the grid or merging sorted samples
+    private int sortObjective = -1; // objective samples are sorted on, -1 if not sorted
+    private int sortedEnd = 0; // samples in [0,sortedEnd) are sorted, those after are not yet merged in
+    static final int MIN_SAMPLES_TO_INDEX = 1024; // unindexed samples tolerated before grid is rebuilt
+    private final PooledSample view; // reusable view on a pooled sample
+    static final int MIN_SAMPLES_PER_CHUNK = 4096; // smallest chunk worth handing to a worker
+
+    /**
+     * Generates an empty pool for samples of numberOfObjectives objectives, with
+     * initial room for initialCapacity samples
+     *
+     * @param numberOfObjectives number of objectives of samples stored
+     * @param initialCapacity number of samples pool can hold before it needs to grow
+     */
+    SamplePool(int numberOfObjectives, int initialCapacity) {
+        this.numberOfObjectives = numberOfObjectives;
+        int capacity = tiled(Math.max(1,initialCapacity));
+        samples = new double[capacity*numberOfObjectives];
+        retired = new boolean[capacity];
+        view = new PooledSample(); // after numberOfObjectives, which sizes its scratch
+    }
+
+    /**
+     * Returns the number of samples currently in the pool
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of objectives of the samples in the pool
+     */
+    int numberOfObjectives() {
+        return numberOfObjectives;
+    }
+
+    /**
+     * Returns the objective value of the sample at index on the objective given
+     */
+    double get(int index, int objective) {
+        closeGaps();
+        return samples[slot(index,objective)];
+    }
+
+    /**
+     * Copies the objective values of s onto the end of the pool
+     */
+    void add(Solution s) {
+        ensureCapacity(size+gaps+1);
+        int index = size+gaps;
+        for (int i=0; i<numberOfObjectives; i++)
+            samples[slot(index,i)] = s.getFitness(i);
+        size++;
+    }
+
+    /**
+     * Removes all samples from the pool
+     */
+    void clear() {
+        Arrays.fill(retired,0,size,false);
+        size = 0;
+        gaps = 0;
+        sortedEnd = 0;
+        if (grid != null)
+            grid.clear();
+    }
+
+    /**
+     * Returns true if s weakly dominates the sample at index
+     */
+    boolean isWeaklyDominatedBy(int index, Solution s) {
+        for (int i=0; i<numberOfObjectives; i++)
+            if (s.getFitness(i) > samples[slot(index,i)])
+                return false; // worse on an objective so can't dominate
+        return true;
+    }
+
+    /**
+     * Returns true if a member of entrants weakly dominates the sample at index
+     */
+    boolean isWeaklyDominatedByAny(int index, List<? extends Solution> entrants) {
+        for (int j=0; j<entrants.size(); j++)
+            if (isWeaklyDominatedBy(index,entrants.get(j)))
+                return true;
+        return false;
+    }
+
+    /**
+     * Removes all samples weakly dominated by s, returning the number removed
+     */
+    int removeWeaklyDominatedBy(Solution s) {
+        if (grid != null)
+            return removeIndexed(s);
+        if (sortObjective >= 0)
+            return removeSorted(Collections.singletonList(s),null,s.getFitness(sortObjective));
+        closeGaps();
+        return retireAllFrom(compactRange(0,size,Collections.singletonList(s),null,view));
+    }
+
+    /**
+     * Removes all samples weakly dominated by a member of list, returning the number removed
+     */
+    int removeWeaklyDominatedBy(ParetoSetManager list)
+    throws IllegalNumberOfObjectivesException
+    {
+        closeGaps();
+        try {
+            if (sortObjective >= 0)
+                return removeSorted(null,list,minimum(list.getContents()));
+            return retireAllFrom(compactRange(0,size,null,list,view));
+        } catch (IllegalStateException e) {
+            IllegalNumberOfObjectivesException.rethrowIfCause(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Removes all samples weakly dominated by s, returning the number removed. The
+     * rescan is split into at most numberOfChunks chunks run on forkJoinPool; the 
+     * pool is left exactly as the sequential rescan would leave it
+     */
+    int removeWeaklyDominatedBy(Solution s, ForkJoinPool forkJoinPool, int numberOfChunks) {
+        if (grid != null)
+            return removeIndexed(s);
+        if (sortObjective >= 0)
+            return removeSorted(Collections.singletonList(s),null,s.getFitness(sortObjective));
+        return retireInParallel(Collections.singletonList(s),null,forkJoinPool,numberOfChunks);
+    }
+
+    /**
+     * Removes all samples weakly dominated by any member of entrants, in a single pass 
+     * over the pool, returning the number removed. The rescan is split into at most 
+     * numberOfChunks chunks run on forkJoinPool; the pool is left exactly as the 
+     * sequential rescan would leave it. If the pool is indexed, each entrant is
+     * instead queried against the index in turn
+     */
+    int removeWeaklyDominatedByAny(List<? extends Solution> entrants, ForkJoinPool forkJoinPool, int numberOfChunks) {
+        if (entrants.isEmpty())
+            return 0;
+        if (grid != null) {
+            int numberRemoved = 0;
+            for (Solution s : entrants)
+                numberRemoved += removeIndexed(s);
+            return numberRemoved;
+        }
+        if (sortObjective >= 0)
+            return removeSorted(entrants,null,minimum(entrants));
+        return retireInParallel(entrants,null,forkJoinPool,numberOfChunks);
+    }
+
+    /**
+     * Removes all samples weakly dominated by a member of list, returning the number
+     * removed. The rescan is split into at most numberOfChunks chunks run on 
+     * forkJoinPool; the pool is left exactly as the sequential rescan would leave it
+     */
+    int removeWeaklyDominatedBy(ParetoSetManager list, ForkJoinPool forkJoinPool, int numberOfChunks)
+    throws IllegalNumberOfObjectivesException
+    {
+        try {
+            if (sortObjective >= 0)
+                return removeSorted(null,list,minimum(list.getContents()));
+            return retireInParallel(null,list,forkJoinPool,numberOfChunks);
+        } catch (IllegalStateException e) {
+            IllegalNumberOfObjectivesException.rethrowIfCause(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Marks as retired the unmarked samples in [from,to) which are weakly dominated 
+     * by s, returning the number newly marked. Marked samples remain in the pool 
+     * (and count towards its size) until compactRetired is called
+     */
+    int retireWeaklyDominatedBy(Solution s, int from, int to) {
+        closeGaps();
+        int numberRetired = 0;
+        for (int tile=from & -TILE; tile<to; tile+=TILE) {
+            long dominated = weaklyDominatedMask(tile,from,to,s);
+            while (dominated != 0L) {
+                int i = tile + Long.numberOfTrailingZeros(dominated);
+                dominated &= dominated-1;
+                if (!retired[i]) {
+                    retired[i] = true;
+                    numberRetired++;
+                }
+            }
+        }
+        return numberRetired;
+    }
+
+    /**
+     * Marks as retired the unmarked samples in [from,to) which are weakly dominated 
+     * by s, returning the number newly marked. The range is split into at most 
+     * numberOfChunks chunks run on forkJoinPool
+     */
+    int retireWeaklyDominatedBy(Solution s, int from, int to, ForkJoinPool forkJoinPool, int numberOfChunks) {
+        int chunks = Math.min(numberOfChunks, (to-from)/MIN_SAMPLES_PER_CHUNK);
+        if (forkJoinPool == null || chunks < 2)
+            return retireWeaklyDominatedBy(s,from,to);
+        closeGaps();
+        return forkJoinPool.invoke(new MarkTask(s,from,to,chunks));
+    }
+
+    /**
+     * Returns, for each candidate, the number of samples it weakly dominates which are
+     * not weakly dominated by a member of entrants (or, if entrants is null, by a member
+     * of list), leaving the samples held unchanged. Each tile is tested against every
+     * candidate in turn, and a sample is only tested for exclusion once, when first
+     * found dominated by a candidate. The scan is split into at most numberOfChunks 
+     * chunks run on forkJoinPool. 
+     * Archive query exceptions are rethrown wrapped in an IllegalStateException
+     */
+    int[] countWeaklyDominatedBy(List<? extends Solution> candidates, List<? extends Solution> entrants, ParetoSetManager list, ForkJoinPool forkJoinPool, int numberOfChunks) {
+        if (candidates.isEmpty())
+            return new int[0];
+        closeGaps();
+        int chunks = Math.min(numberOfChunks, size/MIN_SAMPLES_PER_CHUNK);
+        if (forkJoinPool == null || chunks < 2)
+            return countRange(0,size,candidates,entrants,list,view);
+        return forkJoinPool.invoke(new CountTask(candidates,entrants,list,0,size,chunks));
+    }
+
+    /**
+     * Counts, for each candidate, the samples in [from,to) it weakly dominates which are not
+     * excluded (see countWeaklyDominatedBy)
+     */
+    private int[] countRange(int from, int to, List<? extends Solution> candidates, List<? extends Solution> entrants, ParetoSetManager list, PooledSample rangeView) {
+        int[] counts = new int[candidates.size()];
+        for (int tile=from & -TILE; tile<to; tile+=TILE) {
+            long tested = 0L; // samples of tile already tested for exclusion
+            long excluded = 0L;
+            for (int j=0; j<counts.length; j++) {
+                long dominated = weaklyDominatedMask(tile,from,to,candidates.get(j));
+                long untested = dominated & ~tested;
+                if (untested != 0L) {
+                    if (entrants != null) { // whole tile tested at once
+                        for (int k=0; k<entrants.size(); k++)
+                            excluded |= weaklyDominatedMask(tile,from,to,entrants.get(k));
+                        tested = -1L;
+                    } else {
+                        excluded |= excludedByList(tile,untested,list,rangeView);
+                        tested |= untested;
+                    }
+                }
+                counts[j] += Long.bitCount(dominated & ~excluded);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the mask of the samples of the tile starting at index tile in mask which are
+     * weakly dominated by a member of list
+     */
+    private long excludedByList(int tile, long mask, ParetoSetManager list, PooledSample rangeView) {
+        long excluded = 0L;
+        try {
+            while (mask != 0L) {
+                int lane = Long.numberOfTrailingZeros(mask);
+                mask &= mask-1;
+                rangeView.index = tile + lane;
+                if (list.weaklyDominates(rangeView))
+                    excluded |= 1L << lane;
+            }
+        } catch (IllegalNumberOfObjectivesException e) {
+            throw new IllegalStateException(e);
+        }
+        return excluded;
+    }
+
+    /**
+     * Removes all samples marked as retired, preserving the order of the survivors.
+     * Each element of positions is an index into the pool (or the pool size) which
+     * is updated in place to the index of the first surviving sample at or after it
+     */
+    void compactRetired(int[] positions) {
+        closeGaps();
+        int[] remapped = Arrays.copyOf(positions, positions.length+1);
+        remapped[positions.length] = sortedEnd; // sorted samples stay sorted, but where they end moves
+        int[] order = new int[remapped.length]; // remapped indices, in ascending order of position
+        for (int j=0; j<order.length; j++) {
+            int k = j;
+            for (; k>0 && remapped[order[k-1]] > remapped[j]; k--)
+                order[k] = order[k-1];
+            order[k] = j;
+        }
+        int next = 0; // next position to remap
+        int kept = 0;
+        for (int i=0; i<size; i++) {
+            while (next < order.length && remapped[order[next]] == i)
+                remapped[order[next++]] = kept;
+            if (retired[i])
+                retired[i] = false;
+            else
+                move(i,kept++);
+        }
+        while (next < order.length)
+            remapped[order[next++]] = kept;
+        size = kept;
+        System.arraycopy(remapped, 0, positions, 0, positions.length);
+        sortedEnd = remapped[positions.length];
+        if (grid != null)
+            grid.clear(); // cell boundaries lost, so all samples become unindexed
+    }
+
+    /**
+     * Compacts each chunk in parallel, then closes the gaps between the chunk survivors
+     */
+    private int retireInParallel(List<? extends Solution> entrants, ParetoSetManager list, ForkJoinPool forkJoinPool, int numberOfChunks) {
+        closeGaps();
+        int chunks = Math.min(numberOfChunks, size/MIN_SAMPLES_PER_CHUNK);
+        if (forkJoinPool == null || chunks < 2)
+            return retireAllFrom(compactRange(0,size,entrants,list,view));
+        int[] starts = new int[chunks+1];
+        for (int c=0; c<=chunks; c++)
+            starts[c] = (int) (((long) size*c)/chunks);
+        int[] kept = new int[chunks];
+        forkJoinPool.invoke(new RescanTask(entrants,list,starts,kept,0,chunks));
+        int total = kept[0];
+        for (int c=1; c<chunks; c++) { // merge, in chunk order
+            moveRange(starts[c],total,kept[c]);
+            total += kept[c];
+        }
+        return retireAllFrom(total);
+    }
+
+    /**
+     * Compacts the samples in [from,to) not weakly dominated by a member of entrants 
+     * (or, if entrants is null, by a member of list) to the front of the range, 
+     * returning how many were kept. 
+     * Archive query exceptions are rethrown wrapped in an IllegalStateException
+     */
+    private int compactRange(int from, int to, List<? extends Solution> entrants, ParetoSetManager list, PooledSample rangeView) {
+        int kept = from;
+        if (entrants != null) {
+            for (int tile=from & -TILE; tile<to; tile+=TILE) {
+                long inRange = DominanceKernel.lanes(to-tile) & ~DominanceKernel.lanes(from-tile);
+                long dominated = 0L;
+                for (int j=0; j<entrants.size() && dominated != inRange; j++)
+                    dominated |= weaklyDominatedMask(tile,from,to,entrants.get(j));
+                // compact runs of survivors towards the front; they only move to slots 
+                // already tested, so the mask stays valid
+                long survivors = inRange & ~dominated;
+                while (survivors != 0L) {
+                    int first = Long.numberOfTrailingZeros(survivors);
+                    int length = Long.numberOfTrailingZeros(~(survivors >>> first));
+                    moveRange(tile+first,kept,length);
+                    kept += length;
+                    survivors &= ~DominanceKernel.lanes(first+length);
+                }
+            }
+            return kept-from;
+        }
+        try {
+            for (int i=from; i<to; i++) {
+                rangeView.index = i;
+                if (!list.weaklyDominates(rangeView))
+                    move(i,kept++); // compact survivors towards the front
+            }
+        } catch (IllegalNumberOfObjectivesException e) {
+            throw new IllegalStateException(e);
+        }
+        return kept-from;
+    }
+
+    /**
+     * Returns the mask of the samples of the tile starting at index tile which are in 
+     * [from,to) and weakly dominated by s
+     */
+    private long weaklyDominatedMask(int tile, int from, int to, Solution s) {
+        long inRange = DominanceKernel.lanes(to-tile) & ~DominanceKernel.lanes(from-tile);
+        return KERNEL.weaklyDominatedMask(samples, tile*numberOfObjectives, numberOfObjectives, s) & inRange;
+    }
+
+    /**
+     * Returns the index in samples of value objective of the sample at index
+     */
+    private int slot(int index, int objective) {
+        return DominanceKernel.slot(index,objective,numberOfObjectives);
+    }
+
+    /**
+     * Returns the smallest whole number of tiles of samples holding capacity samples
+     */
+    private static int tiled(int capacity) {
+        return (capacity+TILE-1) & -TILE;
+    }
+
+    /**
+     * Copies the sample at index from to index to (to must not be after from)
+     */
+    private void move(int from, int to) {
+        if (from != to)
+            copy(samples,from,samples,to);
+    }
+
+    /**
+     * Copies the count samples from index from onwards to index to onwards (to must 
+     * not be after from)
+     */
+    private void moveRange(int from, int to, int count) {
+        if (from != to)
+            copyRange(samples,from,samples,to,count);
+    }
+
+    /**
+     * Copies sample fromIndex of tiled array a to sample toIndex of tiled array b
+     */
+    private void copy(double[] a, int fromIndex, double[] b, int toIndex) {
+        for (int i=0; i<numberOfObjectives; i++)
+            b[slot(toIndex,i)] = a[slot(fromIndex,i)];
+    }
+
+    /**
+     * Copies the count samples from fromIndex onwards of tiled array a to toIndex 
+     * onwards of tiled array b, an objective at a time in pieces which cross no tile 
+     * boundary (if a and b are the same, toIndex must not be after fromIndex)
+     */
+    private void copyRange(double[] a, int fromIndex, double[] b, int toIndex, int count) {
+        while (count > 0) {
+            int piece = Math.min(count, TILE - Math.max(fromIndex & (TILE-1), toIndex & (TILE-1)));
+            for (int i=0; i<numberOfObjectives; i++)
+                System.arraycopy(a, slot(fromIndex,i), b, slot(toIndex,i), piece);
+            fromIndex += piece;
+            toIndex += piece;
+            count -= piece;
+        }
+    }
+
+    /**
+     * Truncates the pool to its first kept samples, returning the number dropped
+     */
+    private int retireAllFrom(int kept) {
+        int numberRetired = size-kept;
+        size = kept;
+        if (grid != null && numberRetired > 0)
+            grid.clear(); // cell boundaries lost, so all samples become unindexed
+        return numberRetired;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity*numberOfObjectives > samples.length) {
+            int grown = tiled(Math.max(capacity, 2*samples.length/numberOfObjectives));
+            samples = Arrays.copyOf(samples, grown*numberOfObjectives); // tiles don't depend on capacity
+            retired = Arrays.copyOf(retired, grown);
+        }
+    }
+
+    /**
+     * Indexes the pool on a uniform grid over the box bounded by lowerBounds and
+     * upperBounds, which must contain all samples added to the pool
+     */
+    void indexOnGrid(double[] lowerBounds, double[] upperBounds) {
+        closeGaps();
+        sortObjective = -1;
+        grid = new SampleGrid(lowerBounds, upperBounds);
+        rebuildGrid();
+    }
+
+    /**
+     * Removes the grid index from the pool, the samples remaining sorted by cell
+     */
+    void dropIndex() {
+        closeGaps();
+        grid = null;
+    }
+
+    /**
+     * Returns true if the pool is indexed on a grid
+     */
+    boolean isIndexed() {
+        return grid != null;
+    }
+
+    /**
+     * Keeps the pool sorted on objective, dropping any grid index. If objective is 
+     * negative, the pool is no longer kept sorted
+     */
+    void sortOn(int objective) {
+        dropIndex();
+        sortObjective = Math.max(-1,objective);
+        sortedEnd = 0;
+        if (sortObjective >= 0)
+            mergeUnsorted();
+    }
+
+    /**
+     * Returns the objective the pool is kept sorted on, -1 if not sorted
+     */
+    int getSortObjective() {
+        return sortObjective;
+    }
+
+    /**
+     * Returns true if the pool is kept sorted on an objective
+     */
+    boolean isSorted() {
+        return sortObjective >= 0;
+    }
+
+    /**
+     * Returns true if the samples may be reordered when samples are added or removed,
+     * in which case positions in the pool are not stable between operations
+     */
+    boolean reordersSamples() {
+        return isIndexed() || isSorted();
+    }
+
+    /**
+     * Removes all samples weakly dominated by a member of entrants (or, if entrants is
+     * null, by a member of list), testing only the sorted samples with at least value 
+     * minimum on the sorted objective, and those not yet merged into the sorted samples
+     */
+    private int removeSorted(List<? extends Solution> entrants, ParetoSetManager list, double minimum) {
+        if (size-sortedEnd > Math.max(MIN_SAMPLES_TO_INDEX, sortedEnd/8))
+            mergeUnsorted(); // amortised over the samples added since last merge
+        int first = firstSortedAtLeast(minimum);
+        int keptSorted = compactRange(first,sortedEnd,entrants,list,view);
+        int keptUnsorted = compactRange(sortedEnd,size,entrants,list,view);
+        moveRange(sortedEnd,first+keptSorted,keptUnsorted);
+        int numberRemoved = size-(first+keptSorted+keptUnsorted);
+        sortedEnd = first+keptSorted;
+        size = sortedEnd+keptUnsorted;
+        return numberRemoved;
+    }
+
+    /**
+     * Returns the smallest value on the sorted objective of the solutions
+     */
+    private double minimum(Collection<? extends Solution> solutions) {
+        double minimum = Double.POSITIVE_INFINITY;
+        for (Solution s : solutions)
+            minimum = Math.min(minimum, s.getFitness(sortObjective));
+        return minimum;
+    }
+
+    /**
+     * Returns the index of the first sorted sample with at least value on the sorted
+     * objective (sortedEnd if there is none)
+     */
+    private int firstSortedAtLeast(double value) {
+        int low = 0;
+        int high = sortedEnd;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (samples[slot(middle,sortObjective)] < value)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Sorts the samples not yet merged (by a bottom-up merge sort), and merges them 
+     * into the sorted samples
+     */
+    private void mergeUnsorted() {
+        if (buffer == null || buffer.length < samples.length)
+            buffer = new double[samples.length];
+        double[] from = samples;
+        double[] to = buffer;
+        for (int width=1; width<size-sortedEnd; width*=2) {
+            for (int low=sortedEnd; low<size; low+=2*width) {
+                int middle = Math.min(low+width, size);
+                mergeRuns(from,low,middle,from,middle,Math.min(low+2*width, size),to,low);
+            }
+            double[] swap = from; 
+            from = to;
+            to = swap;
+        }
+        if (from != samples) // sorted run ended up in buffer
+            copyRange(buffer,sortedEnd,samples,sortedEnd,size-sortedEnd);
+        mergeRuns(samples,0,sortedEnd,samples,sortedEnd,size,buffer,0);
+        double[] sorted = buffer;
+        buffer = samples;
+        samples = sorted;
+        sortedEnd = size;
+    }
+
+    /**
+     * Merges the sorted runs of samples [aFrom,aTo) of a and [bFrom,bTo) of b into 
+     * into out, starting at index outFrom, taking samples from a first on ties
+     */
+    private void mergeRuns(double[] a, int aFrom, int aTo, double[] b, int bFrom, int bTo, double[] out, int outFrom) {
+        int o = outFrom;
+        while (aFrom < aTo || bFrom < bTo) {
+            boolean takeA = (bFrom == bTo) || (aFrom < aTo 
+                && a[slot(aFrom,sortObjective)] <= b[slot(bFrom,sortObjective)]);
+            if (takeA)
+                copy(a,aFrom++,out,o++);
+            else
+                copy(b,bFrom++,out,o++);
+        }
+    }
+
+    /**
+     * Removes all samples weakly dominated by s, visiting only the grid cells in 
+     * the orthant s dominates, and the samples not yet indexed
+     */
+    private int removeIndexed(Solution s) {
+        int unindexed = size+gaps-grid.indexedEnd();
+        if (unindexed > Math.max(MIN_SAMPLES_TO_INDEX, size-unindexed))
+            rebuildGrid(); // amortised over the samples added since last rebuild
+        int numberRemoved = removeUnindexed(s);
+        int cellsPerObjective = grid.cellsPerObjective();
+        int[] first = new int[numberOfObjectives]; // cell coordinates holding s on each objective
+        int[] coordinates = new int[numberOfObjectives];
+        for (int i=0; i<numberOfObjectives; i++) {
+            first[i] = (int) Math.max(-1.0, Math.min(cellsPerObjective-1, grid.coordinate(s.getFitness(i),i)));
+            coordinates[i] = Math.max(0,first[i]);
+        }
+        // visit each cell with coordinates in [max(0,first[i]), cellsPerObjective) on every objective
+        int cellsRemoved = 0;
+        while (true) {
+            int cell = 0;
+            boolean inside = true; // beyond s on every objective, so whole cell dominated
+            for (int i=numberOfObjectives-1; i>=0; i--) {
+                cell = cell*cellsPerObjective + coordinates[i];
+                inside &= coordinates[i] > first[i];
+            }
+            if (inside) {
+                cellsRemoved += grid.end[cell]-grid.start[cell];
+                grid.end[cell] = grid.start[cell];
+            } else {
+                numberRemoved += removeFromCell(s,cell);
+            }
+            int i = 0;
+            while (i<numberOfObjectives && ++coordinates[i] == cellsPerObjective) {
+                coordinates[i] = Math.max(0,first[i]);
+                i++;
+            }
+            if (i == numberOfObjectives)
+                break;
+        }
+        gaps += cellsRemoved;
+        size -= cellsRemoved;
+        return numberRemoved + cellsRemoved;
+    }
+
+    /**
+     * Removes the samples in cell weakly dominated by s, by moving the last live
+     * sample of the cell into the slot of each removed
+     */
+    private int removeFromCell(Solution s, int cell) {
+        int numberRemoved = 0;
+        int i = grid.start[cell];
+        while (i < grid.end[cell]) {
+            if (isWeaklyDominatedBy(i,s)) {
+                move(--grid.end[cell],i);
+                numberRemoved++;
+            } else {
+                i++;
+            }
+        }
+        gaps += numberRemoved;
+        size -= numberRemoved;
+        return numberRemoved;
+    }
+
+    /**
+     * Removes the samples added since the grid was built which are weakly dominated
+     * by s, by moving the last sample of the pool into the slot of each removed
+     */
+    private int removeUnindexed(Solution s) {
+        int numberRemoved = 0;
+        int i = grid.indexedEnd();
+        while (i < size+gaps) {
+            if (isWeaklyDominatedBy(i,s)) {
+                size--;
+                move(size+gaps,i);
+                numberRemoved++;
+            } else {
+                i++;
+            }
+        }
+        return numberRemoved;
+    }
+
+    /**
+     * Sizes the grid for the current pool, and sorts all samples into their cells
+     */
+    private void rebuildGrid() {
+        closeGaps();
+        grid.resize(size);
+        int[] start = grid.start;
+        for (int i=0; i<size; i++) // count samples in each cell
+            start[cellOf(i)+1]++;
+        for (int c=1; c<start.length; c++)
+            start[c] += start[c-1];
+        if (buffer == null || buffer.length < samples.length)
+            buffer = new double[samples.length];
+        int[] end = grid.end;
+        System.arraycopy(start, 0, end, 0, end.length);
+        for (int i=0; i<size; i++) // place samples in cells, keeping their order within each
+            copy(samples,i,buffer,end[cellOf(i)]++);
+        double[] sorted = buffer;
+        buffer = samples;
+        samples = sorted;
+    }
+
+    /**
+     * Returns the grid cell of the sample at index
+     */
+    private int cellOf(int index) {
+        int cell = 0;
+        for (int i=numberOfObjectives-1; i>=0; i--)
+            cell = cell*grid.cellsPerObjective() + grid.cellCoordinate(samples[slot(index,i)],i);
+        return cell;
+    }
+
+    /**
+     * Closes the gaps left in the grid cells by indexed removals, keeping the samples
+     * sorted into their cells, so that the live samples occupy [0,size)
+     */
+    private void closeGaps() {
+        if (gaps == 0)
+            return;
+        int kept = 0;
+        int cells = grid.end.length;
+        for (int c=0; c<cells; c++) {
+            int live = grid.end[c]-grid.start[c];
+            moveRange(grid.start[c],kept,live);
+            grid.start[c] = kept;
+            kept += live;
+            grid.end[c] = kept;
+        }
+        int unindexed = size+gaps-grid.start[cells];
+        moveRange(grid.start[cells],kept,unindexed);
+        grid.start[cells] = kept;
+        gaps = 0;
+    }
+
+    /**
+     * Read-only Solution view onto a sample held in the pool, used to query
+     * ParetoSetManager instances without copying the sample out of the pool
+     */
+    private class PooledSample implements Solution
+    {
+        int index;
+        private final double[] fitness = new double[numberOfObjectives]; // scratch the view is read into
+
+        @Override
+        public double getFitness(int objective) {
+            return samples[slot(index,objective)];
+        }
+
+        /**
+         * Returns the objectives of the sample at index, read out of its tile into scratch
+         * owned by this view, so managers querying with the view allocate nothing (each
+         * parallel task holds its own view, so the scratch is never shared between threads)
+         */
+        @Override
+        public double[] getFitnessView() {
+            for (int i=0; i<numberOfObjectives; i++)
+                fitness[i] = samples[slot(index,i)];
+            return fitness;
+        }
+
+        @Override
+        public void setFitness(int objective, double value) {
+            throw new UnsupportedOperationException("Pooled samples are read-only");
+        }
+
+        @Override
+        public void setFitness(double[] fitnesses) {
+            throw new UnsupportedOperationException("Pooled samples are read-only");
+        }
+
+        @Override
+        public int getNumberOfObjectives() {
+            return numberOfObjectives;
+        }
+    }
+
+    /**
+     * Task marking samples in a range, halving the range until each task 
+     * handles a single chunk
+     */
+    private class MarkTask extends RecursiveTask<Integer>
+    {
+        private static final long serialVersionUID = 1L;
+        private final Solution entrant;
+        private final int from;
+        private final int to;
+        private final int chunks;
+
+        MarkTask(Solution entrant, int from, int to, int chunks) {
+            this.entrant = entrant;
+            this.from = from;
+            this.to = to;
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (chunks == 1)
+                return retireWeaklyDominatedBy(entrant,from,to);
+            int half = chunks/2;
+            int middle = from + (int) (((long) (to-from)*half)/chunks);
+            MarkTask left = new MarkTask(entrant,from,middle,half);
+            left.fork();
+            int right = new MarkTask(entrant,middle,to,chunks-half).compute();
+            return left.join() + right;
+        }
+    }
+
+    /**
+     * Task counting the samples in a range each candidate weakly dominates, halving the 
+     * range until each task handles a single chunk
+     */
+    private class CountTask extends RecursiveTask<int[]>
+    {
+        private static final long serialVersionUID = 1L;
+        private final List<? extends Solution> candidates;
+        private final List<? extends Solution> entrants;
+        private final ParetoSetManager list;
+        private final int from;
+        private final int to;
+        private final int chunks;
+
+        CountTask(List<? extends Solution> candidates, List<? extends Solution> entrants, ParetoSetManager list, int from, int to, int chunks) {
+            this.candidates = candidates;
+            this.entrants = entrants;
+            this.list = list;
+            this.from = from;
+            this.to = to;
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (chunks == 1)
+                return countRange(from,to,candidates,entrants,list,new PooledSample());
+            int half = chunks/2;
+            int middle = from + (int) (((long) (to-from)*half)/chunks);
+            CountTask left = new CountTask(candidates,entrants,list,from,middle,half);
+            left.fork();
+            int[] counts = new CountTask(candidates,entrants,list,middle,to,chunks-half).compute();
+            int[] leftCounts = left.join();
+            for (int j=0; j<counts.length; j++)
+                counts[j] += leftCounts[j];
+            return counts;
+        }
+    }
+
+    /**
+     * Task compacting a contiguous range of chunks, forking until each task 
+     * handles a single chunk
+     */
+    private class RescanTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+        private final List<? extends Solution> entrants;
+        private final ParetoSetManager list;
+        private final int[] starts;
+        private final int[] kept;
+        private final int fromChunk;
+        private final int toChunk;
+
+        RescanTask(List<? extends Solution> entrants, ParetoSetManager list, int[] starts, int[] kept, int fromChunk, int toChunk) {
+            this.entrants = entrants;
+            this.list = list;
+            this.starts = starts;
+            this.kept = kept;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                kept[fromChunk] = compactRange(starts[fromChunk],starts[fromChunk+1],entrants,list,new PooledSample());
+                return;
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            invokeAll(new RescanTask(entrants,list,starts,kept,fromChunk,middle),
+                new RescanTask(entrants,list,starts,kept,middle,toChunk));
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package hypervolume;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+
+/**
+ * The test class SamplePoolTest.
+ *
+ * Class provides tests for SamplePool class.
+ *
+ * @author  Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class SamplePoolTest
+{
+    SamplePool pool;
+    /**
+     * Default constructor for test class SamplePoolTest
+     */
+    public SamplePoolTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture. Pool holds the points (i, 9-i) for i = 0,...,9
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp()
+    {
+        pool = new SamplePool(2, 1); // deliberately small so pool has to grow
+        for (int i=0; i<10; i++)
+            pool.add(new MonteCarloSolution(new double[]{i, 9-i}, new double[]{i, 9-i}));
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown()
+    {
+        pool = null;
+    }
+
+    @Test(timeout=200000)
+    public void addTest()
+    {
+        assertEquals(pool.size(),10);
+        for (int i=0; i<10; i++) {
+            assertEquals(pool.get(i,0),i,0.0);
+            assertEquals(pool.get(i,1),9-i,0.0);
+        }
+    }
+
+    @Test(timeout=200000)
+    public void removeWeaklyDominatedBySolutionTest()
+    {
+        // (3,3) weakly dominates (3,6), (4,5), (5,4) and (6,3)
+        int removed = pool.removeWeaklyDominatedBy(new MonteCarloSolution(new double[]{3, 3}, new double[]{3, 3}));
+        assertEquals(removed,4);
+        assertEquals(pool.size(),6);
+        double[] expected = {0, 1, 2, 7, 8, 9}; // survivors keep their order
+        for (int i=0; i<pool.size(); i++)
+            assertEquals(pool.get(i,0),expected[i],0.0);
+    }
+
+    @Test(timeout=200000)
+    public void removeWeaklyDominatedByManagerTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        ParetoSetManager list = DominanceDecisionTreeManager.managerFactory(2);
+        list.add(new MonteCarloSolution(new double[]{0, 9}, new double[]{0, 9}));
+        list.add(new MonteCarloSolution(new double[]{8, 0}, new double[]{8, 0}));
+        assertEquals(pool.removeWeaklyDominatedBy(list),3);
+        assertEquals(pool.size(),7);
+        assertEquals(pool.removeWeaklyDominatedBy(list),0);
+        pool.clear();
+        assertEquals(pool.size(),0);
+    }
+
+    @Test(timeout=200000)
+    public void retireAndCompactTest()
+    {
+        Solution s = new MonteCarloSolution(new double[]{3, 3}, new double[]{3, 3});
+        // mark over two ranges, as if interrupted at index 5
+        assertEquals(pool.retireWeaklyDominatedBy(s,0,5),2);
+        assertEquals(pool.size(),10); // marked samples remain until compacted
+        assertEquals(pool.retireWeaklyDominatedBy(s,0,5),0); // already marked
+        assertEquals(pool.retireWeaklyDominatedBy(s,5,10),2);
+        int[] positions = {10, 5, 0, 4};
+        pool.compactRetired(positions);
+        assertEquals(pool.size(),6);
+        double[] expected = {0, 1, 2, 7, 8, 9}; // survivors keep their order
+        for (int i=0; i<pool.size(); i++)
+            assertEquals(pool.get(i,0),expected[i],0.0);
+        // positions move to the first survivor at or after them
+        assertEquals(positions[0],6);
+        assertEquals(positions[1],3);
+        assertEquals(positions[2],0);
+        assertEquals(positions[3],3);
+        // marks are cleared by compaction
+        assertEquals(pool.retireWeaklyDominatedBy(s,0,pool.size()),0);
+    }
+
+    @Test(timeout=200000)
+    public void parallelRemoveWeaklyDominatedByTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        // parallel rescans must leave the pool exactly as the sequential rescan does
+        RandomSource rng = RandomSource.sourceFactory(1L);
+        double[] lowerBounds = {0.0, 0.0, 0.0};
+        double[] upperBounds = {1.0, 1.0, 1.0};
+        SamplePool sequential = new SamplePool(3, 10);
+        SamplePool parallel = new SamplePool(3, 10);
+        for (int i=0; i<10*SamplePool.MIN_SAMPLES_PER_CHUNK; i++) {
+            MonteCarloSolution s = new MonteCarloSolution(lowerBounds, upperBounds, rng);
+            sequential.add(s);
+            parallel.add(s);
+        }
+        MonteCarloSolution entrant = new MonteCarloSolution(lowerBounds, upperBounds, rng);
+        ParetoSetManager list = DominanceDecisionTreeManager.managerFactory(3);
+        for (int i=0; i<20; i++)
+            list.add(new MonteCarloSolution(lowerBounds, upperBounds, rng));
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        
+        assertEquals(parallel.removeWeaklyDominatedBy(entrant,forkJoinPool,8),sequential.removeWeaklyDominatedBy(entrant));
+        assertEquals(parallel.removeWeaklyDominatedBy(list,forkJoinPool,8),sequential.removeWeaklyDominatedBy(list));
+        assertEquals(parallel.size(),sequential.size());
+        for (int i=0; i<sequential.size(); i++)
+            for (int j=0; j<3; j++)
+                assertEquals(parallel.get(i,j),sequential.get(i,j),0.0);
+    }
+
+    @Test(timeout=200000)
+    public void indexedRemoveWeaklyDominatedByTest()
+    {
+        // indexed removals must retire the same samples as a scan of the pool, though
+        // they may reorder the survivors
+        removeFromOrganisedPool(true);
+    }
+
+    @Test(timeout=200000)
+    public void sortedRemoveWeaklyDominatedByTest()
+    {
+        // removals from a sorted pool must retire the same samples as a scan of the pool,
+        // and leave it sorted
+        removeFromOrganisedPool(false);
+    }
+
+    private void removeFromOrganisedPool(boolean indexed)
+    {
+        RandomSource rng = RandomSource.sourceFactory(3L);
+        for (int numberOfObjectives=2; numberOfObjectives<=4; numberOfObjectives++) {
+            double[] lowerBounds = new double[numberOfObjectives];
+            double[] upperBounds = new double[numberOfObjectives];
+            Arrays.fill(upperBounds, 1.0);
+            SamplePool scanned = new SamplePool(numberOfObjectives, 10);
+            SamplePool organised = new SamplePool(numberOfObjectives, 10);
+            if (indexed)
+                organised.indexOnGrid(lowerBounds, upperBounds);
+            else
+                organised.sortOn(numberOfObjectives-1);
+            assertTrue(organised.reordersSamples());
+            for (int round=0; round<20; round++) {
+                for (int i=0; i<2000; i++) { // sometimes enough to trigger a rebuild of the grid
+                    MonteCarloSolution s = new MonteCarloSolution(lowerBounds, upperBounds, rng);
+                    scanned.add(s);
+                    organised.add(s);
+                }
+                double[] entrant = new double[numberOfObjectives];
+                for (int j=0; j<numberOfObjectives; j++) // include values on cell edges and outside the box
+                    entrant[j] = (round%3 == 0) ? (rng.nextDouble() < 0.5 ? 0.5 : -0.25) : 0.5 + 0.5*rng.nextDouble();
+                Solution s = new MonteCarloSolution(entrant, entrant);
+                assertEquals(organised.removeWeaklyDominatedBy(s),scanned.removeWeaklyDominatedBy(s));
+                assertEquals(organised.size(),scanned.size());
+            }
+            if (!indexed) // the last samples added were merged before the last removal, so all are in order
+                for (int i=1; i<organised.size(); i++)
+                    assertTrue(organised.get(i-1,numberOfObjectives-1) <= organised.get(i,numberOfObjectives-1));
+            assertEquals(sortedContents(organised),sortedContents(scanned));
+        }
+    }
+
+    private static List<String> sortedContents(SamplePool pool)
+    {
+        List<String> contents = new ArrayList<>();
+        for (int i=0; i<pool.size(); i++) {
+            StringBuilder sample = new StringBuilder();
+            for (int j=0; j<pool.numberOfObjectives(); j++)
+                sample.append(pool.get(i,j)).append(',');
+            contents.add(sample.toString());
+        }
+        Collections.sort(contents);
+        return contents;
+    }
+}
@@ -0,0 +1,53 @@
+package hypervolume;
+
+/**
+ * SampleSequence describes generators of the points estimators sample the objective
+ * space with. Points are generated in the unit hypercube [0,1)^M, and are mapped onto 
+ * the sampled box by the caller.
+ * 
+ * Sequences are stateful, so an estimator keeping hold of its sequence continues it
+ * across calls rather than restarting it. Instances are not thread-safe.
+ * 
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public interface SampleSequence
+{
+    /**
+     * Writes the next point of the sequence into point
+     * 
+     * @param point array to fill, of length equal to the dimension of the sequence
+     */
+    void next(double[] point);
+    
+    /**
+     * Returns a sequence providing the next length points to be used, advancing this
+     * sequence past them. Sequences whose points are independent draws may instead 
+     * return an independent stream split from their generator. Either way the returned
+     * sequence is fully determined by the state of this one, so work divided between 
+     * splits is reproducible.
+     * 
+     * @param length number of points the returned sequence will be asked for
+     */
+    SampleSequence split(long length);
+    
+    /**
+     * Method provides a new sequence of type mode in numberOfDimensions dimensions, 
+     * drawing any randomness it needs (points or scrambling) from rng
+     * 
+     * @throws IllegalNumberOfObjectivesException if the sequence type does not support
+     * numberOfDimensions dimensions
+     */
+    static SampleSequence sequenceFactory(SamplingMode mode, int numberOfDimensions, RandomSource rng) 
+    throws IllegalNumberOfObjectivesException 
+    {
+        switch (mode) {
+            case SOBOL :
+            return new SobolSequence(numberOfDimensions, rng);
+            case HALTON :
+            return new HaltonSequence(numberOfDimensions, rng);
+            default :
+            return new PseudoRandomSequence(rng);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package hypervolume;
+
+/**
+ * Enumeration class SamplingMode - the different ways estimators may generate the
+ * sample points used to estimate the hypervolume
+ * 
+ * PSEUDO_RANDOM draws independent uniform points, SOBOL and HALTON draw successive
+ * points of scrambled low-discrepancy sequences
+ * 
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public enum SamplingMode
+{
+    PSEUDO_RANDOM, SOBOL, HALTON;
+}
@@ -0,0 +1,39 @@
+package hypervolume;
+
+/**
+ * ScalarDominanceKernel tests tiles one lane at a time, in branch-free loops which
+ * build each objective's comparison mask a bit at a time.
+ * 
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+class ScalarDominanceKernel implements DominanceKernel
+{
+    @Override
+    public long weaklyDominatedMask(double[] tiles, int offset, int numberOfObjectives, Solution s) {
+        long mask = -1L;
+        for (int i=0; i<numberOfObjectives && mask != 0L; i++) {
+            double value = s.getFitness(i);
+            int from = offset + i*TILE;
+            long noBetter = 0L;
+            for (int m=0; m<TILE; m++)
+                noBetter |= (tiles[from+m] >= value ? 1L : 0L) << m;
+            mask &= noBetter;
+        }
+        return mask;
+    }
+    
+    @Override
+    public long weaklyDominatingMask(double[] tiles, int offset, int numberOfObjectives, Solution s) {
+        long mask = -1L;
+        for (int i=0; i<numberOfObjectives && mask != 0L; i++) {
+            double value = s.getFitness(i);
+            int from = offset + i*TILE;
+            long noWorse = 0L;
+            for (int m=0; m<TILE; m++)
+                noWorse |= (tiles[from+m] <= value ? 1L : 0L) << m;
+            mask &= noWorse;
+        }
+        return mask;
+    }
+}
@@ -5,7 +5,9 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import java.util.Random;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * SharedTest has test functionality shared by the unit tests across a number of classes.
@@ -53,7 +55,7 @@ public class SharedTest
     throws IllegalNumberOfObjectivesException {
         for (HypervolumeEstimator estimator : estimators) {
             OnePlusOneES optimiser = new OnePlusOneES(seed);
-            MonteCarloSolution.setRandomSeed(0L);
+            estimator.setRandomSeed(0L);
             optimiser.runOptimiser(numberOfObjectives,numberOfQueries,numberOfObjectives,estimator);
         }
         Collection<? extends Solution> set1 = estimators[0].getCurrentParetoSetEstimate().getContents();
@@ -71,6 +73,42 @@ public class SharedTest
         return estimators;
     }
 
+    /**
+     * Feeds each estimator the same populations of populationSize solutions, drawn with 
+     * seed from a box shrinking from the far half of the unit box toward its origin over
+     * 50 generations, checking after each that all keep the same survivors and give 
+     * identical estimates. Suits estimators differing only in how retained samples are 
+     * held, so set up with the same number of samples per iteration. partway, if not 
+     * null, is run after the updates of generation 25, e.g. to switch an option on
+     */
+    public static HypervolumeEstimator[] shrinkingBoxRun(HypervolumeEstimator[] estimators, long seed, int numberOfObjectives, int populationSize, Runnable partway) 
+    throws IllegalNumberOfObjectivesException {
+        RandomSource rng = RandomSource.sourceFactory(seed);
+        double[] upperBounds = new double[numberOfObjectives];
+        java.util.Arrays.fill(upperBounds, 1.0);
+        for (int generation=0; generation<50; generation++) {
+            List<Solution> population = new ArrayList<>();
+            for (int i=0; i<populationSize; i++) {
+                double[] lower = new double[numberOfObjectives];
+                for (int j=0; j<numberOfObjectives; j++)
+                    lower[j] = 0.5 - 0.01*generation;
+                population.add(new MonteCarloSolution(lower, upperBounds, rng));
+            }
+            List<Solution> survivors = estimators[0].updateWithNewSolutions(population);
+            for (int k=1; k<estimators.length; k++)
+                assertEquals(survivors,estimators[k].updateWithNewSolutions(population));
+            for (HypervolumeEstimator estimator : estimators)
+                for (Solution s : survivors)
+                    assertTrue(estimator.getCurrentParetoSetEstimate().getContents().contains(s));
+            if (generation == 25 && partway != null)
+                partway.run();
+            double h = estimators[0].getNewHypervolumeEstimate();
+            for (int k=1; k<estimators.length; k++)
+                assertEquals(h,estimators[k].getNewHypervolumeEstimate(),0.0);
+        }
+        return estimators;
+    }
+
     private static class ProxySolution implements Solution
     {
         private double[] objectives;
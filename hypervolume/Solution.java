@@ -8,15 +8,92 @@ import java.util.ArrayList;
  * @version 29/04/2019
  */
 public interface Solution {
+    /**
+     * Flag of relationTo, set if a solution is better than the other on some objective
+     */
+    int BETTER = 1;
+    
+    /**
+     * Flag of relationTo, set if a solution is worse than the other on some objective
+     */
+    int WORSE = 2;
+    
     //double[] getFitness(); 
     double getFitness(int index);
     void setFitness(int index, double value);
     void setFitness(double[] fitnesses);
     int getNumberOfObjectives(); 
     
+    /**
+     * Returns the objective values as an array, if the implementation holds them in 
+     * one, so they can be read without a call per value, otherwise null (the default).
+     * The array is a live, read-only, view: callers must not modify it, and should not
+     * keep it beyond changes to the solution.
+     */
+    default double[] getFitnessView() {
+        return null;
+    }
+    
+    /**
+     * Returns the objective values of s as an array: its fitness view if it has one,
+     * otherwise a copy
+     */
+    static double[] fitnessOf(Solution s) {
+        double[] view = s.getFitnessView();
+        if (view != null)
+            return view;
+        double[] values = new double[s.getNumberOfObjectives()];
+        for (int i = 0; i < values.length; i++)
+            values[i] = s.getFitness(i);
+        return values;
+    }
+    
+    /**
+     * Returns the relation of this solution to s as a bit mask: BETTER is set if this is 
+     * better than s on some objective, and WORSE if it is worse on some. So 0 means the 
+     * two are equal, BETTER that this dominates s, WORSE that s dominates this, and 
+     * BETTER|WORSE that they are mutually non-dominating
+     */
+    default int relationTo(Solution s){
+        double[] a = getFitnessView();
+        double[] b = s.getFitnessView();
+        if (a != null && b != null)
+            return relation(a,b);
+        int relation = 0;
+        int n = getNumberOfObjectives();
+        for (int i = 0; i < n && relation != (BETTER|WORSE); i++) {
+            double x = getFitness(i);
+            double y = s.getFitness(i);
+            if (x < y)
+                relation |= BETTER;
+            else if (x > y)
+                relation |= WORSE;
+        }
+        return relation;
+    }
+    
+    /**
+     * Returns the relation of objective vector a to b, as for relationTo
+     */
+    static int relation(double[] a, double[] b){
+        int relation = 0;
+        for (int i = 0; i < a.length && relation != (BETTER|WORSE); i++) {
+            if (a[i] < b[i])
+                relation |= BETTER;
+            else if (a[i] > b[i])
+                relation |= WORSE;
+        }
+        return relation;
+    }
+    
     default boolean dominates(Solution s){
+        double[] a = getFitnessView();
+        double[] b = s.getFitnessView();
+        if (a != null && b != null)
+            return relation(a,b) == BETTER;
         int better = 0;
-        for (int i = 0; i < getNumberOfObjectives(); i++){
+        int n = getNumberOfObjectives();
+        for (int i = 0; i < n; i++){
             if (getFitness(i) < s.getFitness(i))
                 better++;
             else if (getFitness(i) > s.getFitness(i))
@@ -28,6 +105,12 @@ public interface Solution {
     }
     
     default int getParetoOrder(Solution s){
+        if (getFitnessView() != null && s.getFitnessView() != null) {
+            int relation = relationTo(s);
+            if ((relation & WORSE) == 0)
+                return -1; // weakly dominates
+            return relation == WORSE ? 1 : 0;
+        }
         boolean anyBetter=false;
         boolean anyWorse=false;
         int i = 0;
@@ -72,7 +155,12 @@ public interface Solution {
     }
     
     default boolean weaklyDominates(Solution s){
-        for (int i = 0; i < getNumberOfObjectives(); i++)
+        double[] a = getFitnessView();
+        double[] b = s.getFitnessView();
+        if (a != null && b != null)
+            return weaklyDominates(a,b);
+        int n = getNumberOfObjectives();
+        for (int i = 0; i < n; i++)
             if (getFitness(i) > s.getFitness(i))
                 return false; // worse on an objective so can't dominate
         
@@ -80,7 +168,11 @@ public interface Solution {
     }
     
     static boolean weaklyDominates(double[] d, Solution s){
-        for (int i = 0; i < s.getNumberOfObjectives(); i++)
+        double[] view = s.getFitnessView();
+        if (view != null)
+            return weaklyDominates(d,view);
+        int n = s.getNumberOfObjectives();
+        for (int i = 0; i < n; i++)
             if (d[i] > s.getFitness(i))
                 return false; // worse on an objective so can't dominate
         
@@ -88,13 +180,28 @@ public interface Solution {
     }
     
     static boolean weaklyDominates(Solution s, double[] d){
-        for (int i = 0; i < s.getNumberOfObjectives(); i++)
+        double[] view = s.getFitnessView();
+        if (view != null)
+            return weaklyDominates(view,d);
+        int n = s.getNumberOfObjectives();
+        for (int i = 0; i < n; i++)
             if (s.getFitness(i) > d[i])
                 return false; // worse on an objective so can't dominate
         
         return true; // not worse on any objective, so must weakly dominate
     }
     
+    /**
+     * Returns true if objective vector a weakly dominates b (of the same length)
+     */
+    static boolean weaklyDominates(double[] a, double[] b){
+        for (int i = 0; i < a.length; i++)
+            if (a[i] > b[i])
+                return false; // worse on an objective so can't dominate
+        
+        return true; // not worse on any objective, so must weakly dominate
+    }
+    
     /**
      * Returns true if this Solution is better on all objectives than s. See e.g. Knowles et al.
      * A tutorial on the Performance Assessment of Stochastic Multiobjective Optimizers, 
@@ -102,7 +209,16 @@ public interface Solution {
      * 
      */
     default boolean strictlyDominates(Solution s){
-        for (int i = 0; i < getNumberOfObjectives(); i++)
+        double[] a = getFitnessView();
+        double[] b = s.getFitnessView();
+        if (a != null && b != null) {
+            for (int i = 0; i < a.length; i++)
+                if (a[i] >= b[i])
+                    return false;
+            return true;
+        }
+        int n = getNumberOfObjectives();
+        for (int i = 0; i < n; i++)
             if (getFitness(i) >= s.getFitness(i))
                 return false; // not better on an objective, so can't strictly dominate
         
@@ -174,7 +290,16 @@ public interface Solution {
     }
     
     default boolean isFitnessTheSame(Solution s) {
-        for (int i = 0; i < getNumberOfObjectives(); i++) 
+        double[] a = getFitnessView();
+        double[] b = s.getFitnessView();
+        if (a != null && b != null) {
+            for (int i = 0; i < a.length; i++)
+                if (a[i] != b[i])
+                    return false;
+            return true;
+        }
+        int n = getNumberOfObjectives();
+        for (int i = 0; i < n; i++) 
             if (getFitness(i) != s.getFitness(i))
                 return false;
         
@@ -0,0 +1,125 @@
+package hypervolume;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * The test class SolutionTest.
+ *
+ * Class provides tests for the default dominance methods of Solution, checking the 
+ * fitness view fast paths against the per-objective paths.
+ *
+ * @author  Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class SolutionTest
+{
+    RandomSource rng;
+    /**
+     * Default constructor for test class SolutionTest
+     */
+    public SolutionTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp()
+    {
+        rng = RandomSource.sourceFactory(9L);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown()
+    {
+        rng = null;
+    }
+
+    @Test(timeout=200000)
+    public void fitnessViewMatchesPerObjectiveTest()
+    {
+        for (int numberOfObjectives=1; numberOfObjectives<=5; numberOfObjectives++) {
+            for (int k=0; k<2000; k++) {
+                Solution a = randomSolution(numberOfObjectives);
+                Solution b = randomSolution(numberOfObjectives);
+                Solution aHidden = new ViewlessSolution(a);
+                Solution bHidden = new ViewlessSolution(b);
+                assertNotNull(a.getFitnessView());
+                assertNull(aHidden.getFitnessView());
+                assertEquals(aHidden.relationTo(bHidden),a.relationTo(b));
+                assertEquals(aHidden.dominates(bHidden),a.dominates(b));
+                assertEquals(aHidden.weaklyDominates(bHidden),a.weaklyDominates(b));
+                assertEquals(aHidden.strictlyDominates(bHidden),a.strictlyDominates(b));
+                assertEquals(aHidden.getParetoOrder(bHidden),a.getParetoOrder(b));
+                assertEquals(aHidden.isFitnessTheSame(bHidden),a.isFitnessTheSame(b));
+                assertEquals(Solution.weaklyDominates(Solution.fitnessOf(aHidden),bHidden),
+                    Solution.weaklyDominates(a.getFitnessView(),b));
+                // relation flags agree with the individual methods
+                int relation = a.relationTo(b);
+                assertEquals(a.weaklyDominates(b),(relation & Solution.WORSE) == 0);
+                assertEquals(a.dominates(b),relation == Solution.BETTER);
+                assertEquals(b.dominates(a),relation == Solution.WORSE);
+            }
+        }
+    }
+
+    /**
+     * Returns a solution with values drawn from a handful, so ties are common
+     */
+    private Solution randomSolution(int numberOfObjectives)
+    {
+        Solution s = new MonteCarloSolution(numberOfObjectives);
+        for (int i=0; i<numberOfObjectives; i++)
+            s.setFitness(i, Math.floor(rng.nextDouble()*3));
+        return s;
+    }
+
+    /**
+     * Solution wrapping another, but without a fitness view
+     */
+    private static class ViewlessSolution implements Solution
+    {
+        private final Solution wrapped;
+
+        ViewlessSolution(Solution wrapped)
+        {
+            this.wrapped = wrapped;
+        }
+
+        @Override
+        public double getFitness(int index)
+        {
+            return wrapped.getFitness(index);
+        }
+
+        @Override
+        public void setFitness(int index, double value)
+        {
+            wrapped.setFitness(index, value);
+        }
+
+        @Override
+        public void setFitness(double[] fitnesses)
+        {
+            wrapped.setFitness(fitnesses);
+        }
+
+        @Override
+        public int getNumberOfObjectives()
+        {
+            return wrapped.getNumberOfObjectives();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package hypervolume;
+
+import java.util.SplittableRandom;
+
+/**
+ * SplittableRandomSource adapts java.util.SplittableRandom to the RandomSource
+ * interface. 
+ * 
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class SplittableRandomSource implements RandomSource
+{
+    private final SplittableRandom rng;
+    
+    /**
+     * Generates a generator whose state is derived from seed
+     * 
+     * @param seed seed of generator
+     */
+    public SplittableRandomSource(long seed)
+    {
+        this(new SplittableRandom(seed));
+    }
+    
+    private SplittableRandomSource(SplittableRandom rng)
+    {
+        this.rng = rng;
+    }
+    
+    @Override
+    public double nextDouble()
+    {
+        return rng.nextDouble();
+    }
+    
+    @Override
+    public long nextLong()
+    {
+        return rng.nextLong();
+    }
+    
+    @Override
+    public RandomSource split()
+    {
+        return new SplittableRandomSource(rng.split());
+    }
+}
@@ -0,0 +1,355 @@
+package hypervolume;
+
+import java.util.ArrayList;
+import java.util.PriorityQueue;
+
+/**
+ * StratifiedHypervolumeEstimator splits the sampling box into a tree of cells,
+ * halving cells on each objective in turn (a kd-tree), and classifies each cell
+ * against the Pareto set estimate by querying its corners: a cell is dominated if
+ * its lower corner is weakly dominated, free if no point in it is dominated, and
+ * otherwise is on the boundary. Dominated and free cells are counted exactly, and
+ * Monte Carlo samples are only drawn from boundary cells, so only the attainment
+ * surface carries any uncertainty: the variance of the estimate is that of sampling
+ * the box, scaled by the square of the fraction of the box on the boundary.
+ *
+ * Cells are refined lazily, the largest boundary cell being split first, until
+ * there is about one boundary cell per four samples an estimate draws. As the
+ * dominated region only grows, dominated cells stay dominated (siblings which are
+ * both dominated are merged), and on each estimate only the free and boundary cells
+ * which an entrant since the last estimate weakly dominates a point of are
+ * reclassified, the walk skipping all other subtrees.
+ *
+ * Samples are drawn sequentially, even if parallelism has been set.
+ *
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class StratifiedHypervolumeEstimator extends BasicHypervolumeEstimator
+{
+    static final int SAMPLES_PER_BOUNDARY_CELL = 4; // samples per estimate for each boundary cell refined to
+    static final int MAX_DEPTH = 50; // depth at which cells are no longer split, so volumes remain exact
+    private static final int FREE = 0, BOUNDARY = 1, DOMINATED = 2, SPLIT = 3; // states of cells
+    private Cell root;
+    private double dominatedVolume = 0.0; // fraction of box in dominated cells
+    private double boundaryVolume = 0.0; // fraction of box in boundary cells at last estimate
+    private double boundaryFractionDominated = 0.0; // fraction of samples in boundary cells dominated at last estimate
+    private ArrayList<Solution> improvingEntrants = new ArrayList<>(); // entrants since last estimate
+    private final MonteCarloSolution corner; // scratch point for classifying cells
+
+    /**
+     * Generates an instance of a StratifiedHypervolumeEstimator to track the
+     * hypervolume for a numberOfObjectives dimensional problem, with the
+     * hypervolume estimated exactly in the cells of the box constrained
+     * hyperrectangle defined in objective space by lowerBounds and upperBounds
+     * wholly dominated or free, and by Monte Carlo samples in the others
+     *
+     * Instance initially has instrumentation switched off.
+     *
+     *  @param numberOfObjectives number of objectives
+     *  @param lowerBounds array of values of lower bound for objectives for MC sampling
+     *  @param upperBounds array of values of upper bound for objectives for MC sampling
+     *  @throws IllegalNumberOfObjectivesException if the length of a bounds array does
+     *          not match the number of objectives, or if the number of objectives is
+     *          less than 1 (see message in exception)
+     */
+    public StratifiedHypervolumeEstimator(int numberOfObjectives, double[] lowerBounds, double[] upperBounds)
+    throws IllegalNumberOfObjectivesException
+    {
+        this(numberOfObjectives,lowerBounds,upperBounds,SamplingMode.PSEUDO_RANDOM);
+    }
+
+    /**
+     * Generates an instance of a StratifiedHypervolumeEstimator as above, with sample points
+     * generated as determined by samplingMode (the first coordinate of each point of the
+     * sequence chooses the boundary cell, in proportion to volume, as well as the position
+     * within it)
+     *
+     *  @param numberOfObjectives number of objectives
+     *  @param lowerBounds array of values of lower bound for objectives for MC sampling
+     *  @param upperBounds array of values of upper bound for objectives for MC sampling
+     *  @param samplingMode how sample points are generated
+     *  @throws IllegalNumberOfObjectivesException if the length of a bounds array does
+     *          not match the number of objectives, if the number of objectives is
+     *          less than 1, or if the sampling mode does not support the number of
+     *          objectives (see message in exception)
+     */
+    public StratifiedHypervolumeEstimator(int numberOfObjectives, double[] lowerBounds, double[] upperBounds, SamplingMode samplingMode)
+    throws IllegalNumberOfObjectivesException
+    {
+        super(numberOfObjectives,lowerBounds,upperBounds,samplingMode);
+        corner = new MonteCarloSolution(numberOfObjectives);
+    }
+
+    @Override
+    public boolean updateWithNewSolution(Solution s)
+    throws IllegalNumberOfObjectivesException
+    {
+        boolean improvement = super.updateWithNewSolution(s);
+        if (improvement && root != null)
+            HypervolumeEstimator.addSurvivor(improvingEntrants, s); // drops any entrants s has evicted
+        return improvement;
+    }
+
+    @Override
+    public double getNewHypervolumeEstimate()
+    throws IllegalNumberOfObjectivesException
+    {
+        if (root == null) { // first time called, so classify whole box
+            root = new Cell(lowerBounds.clone(), upperBounds.clone(), 1.0, 0);
+            classify(root);
+        } else {
+            for (Solution e : improvingEntrants)
+                reclassify(root, Solution.fitnessOf(e));
+        }
+        improvingEntrants.clear();
+
+        Cell[] boundary = refineBoundary();
+        double[] cumulativeVolume = new double[boundary.length+1];
+        for (int c=0; c<boundary.length; c++)
+            cumulativeVolume[c+1] = cumulativeVolume[c] + boundary[c].volume;
+        boundaryVolume = cumulativeVolume[boundary.length];
+
+        int h = 0;
+        int n = 0;
+        if (boundaryVolume > 0.0) {
+            for (; n<numberOfSamples; n++) {
+                if (n % PrecisionTarget.CHECK_INTERVAL == 0 && precisionTarget != null && precisionTarget.isMet(h,n,boundaryVolume))
+                    break;
+                resampleInBoundary(boundary, cumulativeVolume);
+                if (list.weaklyDominates(sample))
+                    h++;
+            }
+            boundaryFractionDominated = h/(double) n;
+            hypervolume = dominatedVolume + boundaryVolume*boundaryFractionDominated;
+        } else {
+            boundaryFractionDominated = 0.0;
+            hypervolume = dominatedVolume; // exact, as no cell straddles the attainment surface
+        }
+        numberOfSamplesUsed = n;
+        return hypervolume;
+    }
+
+    /**
+     * Cells dominated only by an evicted member are no longer dominated, so the cells
+     * are dropped, and the box is classified afresh on the next estimate
+     */
+    @Override
+    void discardHistory()
+    {
+        root = null;
+        dominatedVolume = 0.0;
+        improvingEntrants.clear();
+    }
+
+    /**
+     * Standard error of the boundary sample, scaled by the fraction of the box on the
+     * boundary (0 if no cell is on the boundary)
+     */
+    @Override
+    public double getStandardError()
+    {
+        if (boundaryVolume == 0.0)
+            return 0.0;
+        return boundaryVolume*PrecisionTarget.standardError(boundaryFractionDominated, numberOfSamplesUsed);
+    }
+
+    /**
+     * Interval on the fraction of the boundary cells dominated, scaled by their volume and
+     * added to the volume of the dominated cells
+     */
+    @Override
+    public double[] getConfidenceInterval(double confidenceLevel)
+    {
+        if (boundaryVolume == 0.0)
+            return new double[]{hypervolume, hypervolume};
+        double[] interval = PrecisionTarget.wilsonInterval(boundaryFractionDominated, numberOfSamplesUsed, confidenceLevel);
+        return new double[]{dominatedVolume + boundaryVolume*interval[0], dominatedVolume + boundaryVolume*interval[1]};
+    }
+
+    /**
+     * Returns the fraction of the box in cells wholly dominated by the Pareto set estimate
+     * as at the last estimate
+     *
+     * @returns dominated fraction of box known exactly
+     */
+    public double getDominatedVolume()
+    {
+        return dominatedVolume;
+    }
+
+    /**
+     * Returns the fraction of the box in cells on the boundary of the dominated region
+     * at the last estimate, i.e. the part of the box which was sampled
+     *
+     * @returns fraction of box sampled
+     */
+    public double getBoundaryVolume()
+    {
+        return boundaryVolume;
+    }
+
+    /**
+     * Splits boundary cells, largest first, until there are enough for the number of
+     * samples, returning all boundary cells
+     */
+    private Cell[] refineBoundary()
+    throws IllegalNumberOfObjectivesException
+    {
+        ArrayList<Cell> unsplittable = new ArrayList<>();
+        PriorityQueue<Cell> toSplit = new PriorityQueue<>((a,b) -> Integer.compare(a.depth,b.depth)); // largest first
+        collectBoundary(root, toSplit, unsplittable);
+        int maxCells = Math.max(1, numberOfSamples/SAMPLES_PER_BOUNDARY_CELL);
+        while (!toSplit.isEmpty() && toSplit.size() + unsplittable.size() < maxCells) {
+            Cell c = toSplit.poll();
+            split(c);
+            for (Cell child : c.children) { // the lower child shares c's undominated lower corner, so both cannot be dominated
+                classify(child);
+                if (child.state == BOUNDARY)
+                    (child.depth < MAX_DEPTH ? toSplit : unsplittable).add(child);
+            }
+        }
+        unsplittable.addAll(toSplit);
+        return unsplittable.toArray(new Cell[unsplittable.size()]);
+    }
+
+    /**
+     * Adds the boundary leaves below c to toSplit, or to unsplittable if too deep to split
+     */
+    private void collectBoundary(Cell c, PriorityQueue<Cell> toSplit, ArrayList<Cell> unsplittable)
+    {
+        if (c.state == SPLIT) {
+            collectBoundary(c.children[0], toSplit, unsplittable);
+            collectBoundary(c.children[1], toSplit, unsplittable);
+        } else if (c.state == BOUNDARY) {
+            (c.depth < MAX_DEPTH ? toSplit : unsplittable).add(c);
+        }
+    }
+
+    /**
+     * Classifies the leaf c by querying the Pareto set estimate with its corners
+     */
+    private void classify(Cell c)
+    throws IllegalNumberOfObjectivesException
+    {
+        double[] point = corner.getFitnessView();
+        System.arraycopy(c.lower, 0, point, 0, point.length);
+        if (list.weaklyDominates(corner)) {
+            markDominated(c);
+            return;
+        }
+        for (int i=0; i<point.length; i++)
+            point[i] = Math.nextDown(c.upper[i]); // largest point of cell sampled
+        c.state = list.weaklyDominates(corner) ? BOUNDARY : FREE;
+    }
+
+    /**
+     * Reclassifies the free and boundary leaves below c which e, a new entrant to the
+     * Pareto set estimate, weakly dominates some point of, merging dominated siblings
+     */
+    private void reclassify(Cell c, double[] e)
+    {
+        if (c.state == DOMINATED || !dominatesPointOf(e,c))
+            return; // e cannot change the classification of any cell below
+        if (c.state != SPLIT) {
+            if (Solution.weaklyDominates(e,c.lower))
+                markDominated(c);
+            else
+                c.state = BOUNDARY;
+            return;
+        }
+        reclassify(c.children[0], e);
+        reclassify(c.children[1], e);
+        if (c.children[0].state == DOMINATED && c.children[1].state == DOMINATED)
+            merge(c);
+    }
+
+    /**
+     * Returns true if e weakly dominates some point of cell c (i.e. is strictly better
+     * than its upper corner on every objective)
+     */
+    private static boolean dominatesPointOf(double[] e, Cell c)
+    {
+        for (int i=0; i<e.length; i++)
+            if (e[i] >= c.upper[i])
+                return false;
+        return true;
+    }
+
+    private void markDominated(Cell c)
+    {
+        c.state = DOMINATED;
+        dominatedVolume += c.volume;
+    }
+
+    /**
+     * Replaces the children of c, both dominated, by c itself (their volume is already counted)
+     */
+    private void merge(Cell c)
+    {
+        c.children = null;
+        c.state = DOMINATED;
+    }
+
+    /**
+     * Splits leaf c in half on the objective for its depth
+     */
+    private void split(Cell c)
+    {
+        int objective = c.depth % lowerBounds.length;
+        double middle = (c.lower[objective] + c.upper[objective])/2;
+        double[] lowerOfUpperHalf = c.lower.clone();
+        double[] upperOfLowerHalf = c.upper.clone();
+        lowerOfUpperHalf[objective] = middle;
+        upperOfLowerHalf[objective] = middle;
+        c.children = new Cell[]{new Cell(c.lower, upperOfLowerHalf, c.volume/2, c.depth+1),
+                                new Cell(lowerOfUpperHalf, c.upper, c.volume/2, c.depth+1)};
+        c.state = SPLIT;
+    }
+
+    /**
+     * Redraws the sample uniformly from the boundary cells: the first coordinate of the
+     * point drawn picks the cell, in proportion to its volume, and its remainder within
+     * the cell's share is used as the first coordinate within the cell
+     */
+    private void resampleInBoundary(Cell[] boundary, double[] cumulativeVolume)
+    {
+        double[] point = sample.getFitnessView();
+        sequence.next(point);
+        double t = point[0]*boundaryVolume;
+        int low = 0, high = boundary.length-1; // find last cell starting at or before t
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (cumulativeVolume[middle] <= t)
+                low = middle;
+            else
+                high = middle-1;
+        }
+        Cell c = boundary[low];
+        point[0] = Math.min((t - cumulativeVolume[low])/c.volume, Math.nextDown(1.0));
+        for (int i=0; i<point.length; i++) // kept within cell, whatever the rounding
+            point[i] = Math.min(c.lower[i] + point[i]*(c.upper[i]-c.lower[i]), Math.nextDown(c.upper[i]));
+    }
+
+    /**
+     * Cell of the tree, the box [lower, upper) holding the given fraction of the sampling
+     * box; leaves are free, boundary or dominated, other cells are split in two
+     */
+    private static class Cell
+    {
+        final double[] lower;
+        final double[] upper;
+        final double volume;
+        final int depth;
+        int state = FREE;
+        Cell[] children; // null for leaves
+
+        Cell(double[] lower, double[] upper, double volume, int depth)
+        {
+            this.lower = lower;
+            this.upper = upper;
+            this.volume = volume;
+            this.depth = depth;
+        }
+    }
+}
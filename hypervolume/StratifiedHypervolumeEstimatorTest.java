@@ -0,0 +1,131 @@
+package hypervolume;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The test class StratifiedHypervolumeEstimatorTest.
+ *
+ * Class provides tests for StratifiedHypervolumeEstimator class.
+ *
+ * @author  Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class StratifiedHypervolumeEstimatorTest
+{
+    RandomSource rng;
+
+    /**
+     * Default constructor for test class StratifiedHypervolumeEstimatorTest
+     */
+    public StratifiedHypervolumeEstimatorTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @Before
+    public void setUp()
+    {
+        rng = RandomSource.sourceFactory(11L);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @After
+    public void tearDown()
+    {
+    }
+
+    @Test(timeout=200000)
+    public void alignedFrontIsExactTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        // a point at the middle of the box splits it along cell faces, so no cell is
+        // left on the boundary, and no samples are needed
+        StratifiedHypervolumeEstimator estimator = new StratifiedHypervolumeEstimator(2, new double[]{0.0, 0.0}, new double[]{2.0, 2.0});
+        estimator.setNumberOfSamplesToComparePerIteration(1000);
+        estimator.updateWithNewSolution(pointAt(1.0, 1.0));
+        assertEquals(estimator.getNewHypervolumeEstimate(),0.25,0.0);
+        assertEquals(estimator.getBoundaryVolume(),0.0,0.0);
+        assertEquals(estimator.getNumberOfSamplesUsedForCurrentEstimate(),0);
+        assertEquals(estimator.getStandardError(),0.0,0.0);
+        estimator.updateWithNewSolution(pointAt(0.5, 1.5));
+        assertEquals(estimator.getNewHypervolumeEstimate(),0.3125,0.0);
+    }
+
+    @Test(timeout=200000)
+    public void emptyArchiveTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        StratifiedHypervolumeEstimator estimator = new StratifiedHypervolumeEstimator(3, new double[]{0.0, 0.0, 0.0}, new double[]{1.0, 1.0, 1.0});
+        estimator.setNumberOfSamplesToComparePerIteration(1000);
+        assertEquals(estimator.getNewHypervolumeEstimate(),0.0,0.0);
+        assertEquals(estimator.getNumberOfSamplesUsedForCurrentEstimate(),0);
+    }
+
+    @Test(timeout=200000)
+    public void matchesExactTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        // as the archive changes cells are reclassified, and the estimate must stay within
+        // its interval of the exact value, with a far smaller error than sampling the box
+        for (int numberOfObjectives=2; numberOfObjectives<=4; numberOfObjectives++) {
+            double[] lowerBounds = new double[numberOfObjectives];
+            double[] upperBounds = new double[numberOfObjectives];
+            java.util.Arrays.fill(upperBounds, 1.0);
+            ExactHypervolumeEstimator exact = new ExactHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            StratifiedHypervolumeEstimator estimator = new StratifiedHypervolumeEstimator(numberOfObjectives, lowerBounds, upperBounds);
+            estimator.setNumberOfSamplesToComparePerIteration(4000);
+            double[] widerLowerBounds = new double[numberOfObjectives];
+            double[] widerUpperBounds = new double[numberOfObjectives];
+            for (int generation=0; generation<30; generation++) {
+                java.util.Arrays.fill(widerLowerBounds, 0.5 - 0.015*generation);
+                java.util.Arrays.fill(widerUpperBounds, 1.1);
+                for (int i=0; i<10; i++) {
+                    Solution s = new MonteCarloSolution(widerLowerBounds, widerUpperBounds, rng);
+                    exact.updateWithNewSolution(s);
+                    estimator.updateWithNewSolution(s);
+                }
+                double h = exact.getNewHypervolumeEstimate();
+                double estimate = estimator.getNewHypervolumeEstimate();
+                double[] interval = estimator.getConfidenceInterval(0.999);
+                assertTrue(interval[0] <= h && h <= interval[1]);
+                assertTrue(estimator.getDominatedVolume() <= h && h <= estimator.getDominatedVolume() + estimator.getBoundaryVolume());
+                assertTrue(estimator.getStandardError() < 0.5*PrecisionTarget.standardError(estimate, 4000));
+            }
+        }
+    }
+
+    @Test(timeout=200000)
+    public void targetPrecisionTest()
+    throws IllegalNumberOfObjectivesException
+    {
+        // the interval is scaled by the boundary volume, so the target is met with fewer
+        // samples than when sampling the whole box
+        StratifiedHypervolumeEstimator estimator = new StratifiedHypervolumeEstimator(2, new double[]{0.0, 0.0}, new double[]{1.0, 1.0});
+        estimator.setNumberOfSamplesToComparePerIteration(100000);
+        for (int i=0; i<50; i++)
+            estimator.updateWithNewSolution(pointAt(rng.nextDouble(), rng.nextDouble()));
+        estimator.setTargetPrecision(0.001, 0.95);
+        estimator.getNewHypervolumeEstimate();
+        assertTrue(estimator.getNumberOfSamplesUsedForCurrentEstimate() < 100000);
+        double[] interval = estimator.getConfidenceInterval(0.95);
+        assertTrue(interval[1]-interval[0] <= 0.002);
+    }
+
+    private static Solution pointAt(double... values)
+    {
+        MonteCarloSolution s = new MonteCarloSolution(values.length);
+        s.setFitness(values.clone());
+        return s;
+    }
+}
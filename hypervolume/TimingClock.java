@@ -0,0 +1,33 @@
+package hypervolume;
+
+/**
+ * Enumeration class TimingClock - the clocks time-limited estimators may measure
+ * their time limit against
+ * 
+ * THREAD_CPU_TIME measures the CPU time of the calling thread (so time the thread
+ * is descheduled is not charged to the limit), WALL_CLOCK measures elapsed time via
+ * System.nanoTime(), which is cheaper to read and suits hard latency limits
+ * 
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public enum TimingClock
+{
+    THREAD_CPU_TIME {
+        @Override
+        long now() {
+            return HypervolumeEstimator.getCPUTime();
+        }
+    }, 
+    WALL_CLOCK {
+        @Override
+        long now() {
+            return System.nanoTime();
+        }
+    };
+    
+    /**
+     * Returns the current reading of the clock in nanoseconds (relative to an arbitrary origin)
+     */
+    abstract long now();
+}
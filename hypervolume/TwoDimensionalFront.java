@@ -0,0 +1,83 @@
+package hypervolume;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * TwoDimensionalFront maintains a mutually non-dominating set of points in two 
+ * dimensions (minimisation), sorted on the first objective in a balanced tree, 
+ * together with the area they dominate up to a reference point. Adding a point 
+ * updates the area in time logarithmic in the size of the front, plus time linear 
+ * in the number of points it evicts.
+ * 
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+class TwoDimensionalFront
+{
+    private final double referenceX;
+    private final double referenceY;
+    private final TreeMap<Double,Double> front = new TreeMap<>(); // x -> y, y decreasing as x increases
+    private double area = 0.0;
+    
+    /**
+     * Generates an empty front, whose area is measured up to (referenceX, referenceY)
+     */
+    TwoDimensionalFront(double referenceX, double referenceY) {
+        this.referenceX = referenceX;
+        this.referenceY = referenceY;
+    }
+    
+    /**
+     * Returns the area dominated by the front, bounded by the reference point
+     */
+    double getArea() {
+        return area;
+    }
+    
+    /**
+     * Returns the number of points in the front
+     */
+    int size() {
+        return front.size();
+    }
+    
+    /**
+     * Adds (x,y) to the front, removing any members it weakly dominates, and returns
+     * the increase in dominated area (zero if (x,y) is weakly dominated by the front, 
+     * in which case the front is unchanged). Points not strictly better than the 
+     * reference point on both objectives dominate no area and are ignored.
+     */
+    double add(double x, double y) {
+        if (x >= referenceX || y >= referenceY)
+            return 0.0;
+        Map.Entry<Double,Double> floor = front.floorEntry(x);
+        if (floor != null && floor.getValue() <= y)
+            return 0.0; // weakly dominated
+        Map.Entry<Double,Double> left = front.lowerEntry(x);
+        double height = (left == null) ? referenceY : left.getValue(); // current front height at x
+        double startX = x;
+        double added = 0.0;
+        Map.Entry<Double,Double> next = front.ceilingEntry(x);
+        while (next != null && next.getValue() >= y) { // points to the right that are now dominated
+            added += (next.getKey() - startX) * (height - y);
+            startX = next.getKey();
+            height = next.getValue();
+            front.remove(next.getKey());
+            next = front.higherEntry(startX);
+        }
+        double endX = (next == null) ? referenceX : next.getKey();
+        added += (endX - startX) * (height - y);
+        front.put(x, y);
+        area += added;
+        return added;
+    }
+    
+    /**
+     * Removes all points from the front
+     */
+    void clear() {
+        front.clear();
+        area = 0.0;
+    }
+}
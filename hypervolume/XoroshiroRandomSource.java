@@ -0,0 +1,73 @@
+package hypervolume;
+
+/**
+ * XoroshiroRandomSource implements the xoroshiro128+ generator of 
+ * 
+ * David Blackman and Sebastiano Vigna. 2018. 
+ * Scrambled Linear Pseudorandom Number Generators. arXiv:1805.01407
+ * 
+ * with the 128 bits of state initialised from the seed by SplitMix64. Splitting
+ * seeds the new generator, again through SplitMix64, from the next two draws of
+ * this one, so its state lies at an effectively random point of the 2^128 period,
+ * however deeply splits are nested. (Handing the current state to the new generator
+ * and jumping this one ahead instead overlaps streams once a split is itself split,
+ * the jump of the new generator landing on the state of this one.)
+ * 
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+public class XoroshiroRandomSource implements RandomSource
+{
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+    private long s0;
+    private long s1;
+    
+    /**
+     * Generates a generator whose state is derived from seed
+     * 
+     * @param seed seed of generator
+     */
+    public XoroshiroRandomSource(long seed)
+    {
+        s0 = splitMix64(seed);
+        s1 = splitMix64(seed + 0x9e3779b97f4a7c15L);
+    }
+    
+    private XoroshiroRandomSource(long s0, long s1)
+    {
+        this.s0 = s0;
+        this.s1 = s1;
+    }
+    
+    @Override
+    public long nextLong()
+    {
+        final long a = s0;
+        long b = s1;
+        final long result = a + b;
+        b ^= a;
+        s0 = Long.rotateLeft(a, 24) ^ b ^ (b << 16);
+        s1 = Long.rotateLeft(b, 37);
+        return result;
+    }
+    
+    @Override
+    public double nextDouble()
+    {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+    
+    @Override
+    public RandomSource split()
+    {
+        return new XoroshiroRandomSource(splitMix64(nextLong()), splitMix64(nextLong()));
+    }
+    
+    private static long splitMix64(long z)
+    {
+        z += 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
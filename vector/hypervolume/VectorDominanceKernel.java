@@ -0,0 +1,86 @@
+package hypervolume;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorDominanceKernel tests tiles a vector of lanes at a time, using the preferred
+ * (widest) double species of the platform. Only ever loaded by name, from 
+ * DominanceKernel.kernelFactory, so the rest of the package runs without the
+ * jdk.incubator.vector module. It is kept in a separate source root (vector/),
+ * so the package itself builds on plain Java, without incubator warnings; it is
+ * compiled against the package's classes, into the same output, when wanted:
+ * 
+ *   javac -d out hypervolume/*.java
+ *   javac --add-modules jdk.incubator.vector -cp out -d out vector/hypervolume/*.java
+ * 
+ * Rather than combining a comparison mask per objective, each vector of lanes 
+ * accumulates the smallest (or largest) difference from s over the objectives, 
+ * which is compared against zero once, and a mask only converted to bits when a 
+ * lane passes; on JDK 17 this keeps the loop in vector registers, where loop-carried
+ * masks and mask to bits conversion are not. Differences are only NaN where a value
+ * is NaN, or both are the same infinity, and vectors of lanes holding such a 
+ * difference are tested lane by lane instead.
+ * 
+ * @author Jonathan Fieldsend
+ * @version 17/10/2026
+ */
+class VectorDominanceKernel implements DominanceKernel
+{
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length(); // a power of two, at most 8, so divides TILE
+    
+    @Override
+    public long weaklyDominatedMask(double[] tiles, int offset, int numberOfObjectives, Solution s) {
+        long mask = 0L;
+        for (int m=0; m<TILE; m+=LANES) {
+            // smallest margin by which lanes are no better than s
+            DoubleVector margin = DoubleVector.fromArray(SPECIES, tiles, offset+m).sub(s.getFitness(0));
+            for (int i=1; i<numberOfObjectives; i++)
+                margin = margin.min(DoubleVector.fromArray(SPECIES, tiles, offset+i*TILE+m).sub(s.getFitness(i)));
+            VectorMask<Double> lanes = margin.compare(VectorOperators.GE, 0.0);
+            if (margin.test(VectorOperators.IS_NAN).anyTrue())
+                mask |= laneByLane(tiles, offset+m, numberOfObjectives, s, true) << m;
+            else if (lanes.anyTrue())
+                mask |= lanes.toLong() << m;
+        }
+        return mask;
+    }
+    
+    @Override
+    public long weaklyDominatingMask(double[] tiles, int offset, int numberOfObjectives, Solution s) {
+        long mask = 0L;
+        for (int m=0; m<TILE; m+=LANES) {
+            // largest margin by which lanes are worse than s
+            DoubleVector margin = DoubleVector.fromArray(SPECIES, tiles, offset+m).sub(s.getFitness(0));
+            for (int i=1; i<numberOfObjectives; i++)
+                margin = margin.max(DoubleVector.fromArray(SPECIES, tiles, offset+i*TILE+m).sub(s.getFitness(i)));
+            VectorMask<Double> lanes = margin.compare(VectorOperators.LE, 0.0);
+            if (margin.test(VectorOperators.IS_NAN).anyTrue())
+                mask |= laneByLane(tiles, offset+m, numberOfObjectives, s, false) << m;
+            else if (lanes.anyTrue())
+                mask |= lanes.toLong() << m;
+        }
+        return mask;
+    }
+    
+    /**
+     * Returns the mask of the LANES lanes from index from of a tile which are weakly 
+     * dominated by s (if dominated is true) or weakly dominate s (otherwise)
+     */
+    private static long laneByLane(double[] tiles, int from, int numberOfObjectives, Solution s, boolean dominated) {
+        long mask = 0L;
+        for (int m=0; m<LANES; m++) {
+            boolean passes = true;
+            for (int i=0; i<numberOfObjectives && passes; i++) {
+                double value = tiles[from+i*TILE+m];
+                passes = dominated ? value >= s.getFitness(i) : value <= s.getFitness(i);
+            }
+            if (passes)
+                mask |= 1L << m;
+        }
+        return mask;
+    }
+}